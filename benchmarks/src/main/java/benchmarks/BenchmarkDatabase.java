@@ -0,0 +1,262 @@
+package benchmarks;
+
+import dto.CreateCustomerDto;
+import dto.CreateOrderDto;
+import entites.Coffee;
+import entites.Customer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import repositories.CachingCoffeeRepository;
+import repositories.CachingCustomerRepository;
+import repositories.CoffeeRepository;
+import repositories.CustomerRepository;
+import repositories.OrderRepository;
+import repositories.SchemaMigrator;
+import services.CoffeeService;
+import services.OrderService;
+import utils.ConnectionPool;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The embedded Derby database shared by every benchmark. Each order count gets
+ * its own database under {@code coffee.bench.dir} (default
+ * {@code target/bench-db}), created and migrated by the application's own
+ * {@link SchemaMigrator} and then topped up with customers and orders. A
+ * database that was seeded by an earlier run is reused, so the slow seeding of
+ * the larger sizes only happens once.
+ * <p>
+ * The repositories are the plain database-backed ones, so repository
+ * benchmarks measure queries rather than caches. The services are wired the
+ * way {@link controllers.AppController} wires them, with the caching
+ * repositories in front. Orders written during a trial are deleted when it
+ * ends, so every trial starts from the same data. The benchmarks fork with
+ * {@code coffee.log.console=false}, so the application's log only goes to its
+ * file and the console does not become part of the measurement.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+    /** The number of rows inserted per batch while seeding. */
+    private static final int SEED_CHUNK = 10_000;
+
+    /** The credit given to seeded customers, so placed orders never run out. */
+    private static final double SEED_CREDIT = 1e12;
+
+    /** The number of orders in the database. */
+    @Param({ "1000", "100000", "1000000" })
+    public int orders;
+
+    ConnectionPool pool;
+    CustomerRepository customerRepository;
+    CoffeeRepository coffeeRepository;
+    OrderRepository orderRepository;
+    OrderService orderService;
+    CoffeeService coffeeService;
+
+    private String url;
+    private int lastSeededOrderId;
+    private int[] customerIds;
+    private String[] customerEmails;
+    private int[] orderIds;
+    private List<Coffee> coffees;
+
+    /**
+     * Opens, migrates and seeds the database for the current order count.
+     *
+     * @throws SQLException If the database cannot be opened or seeded.
+     */
+    @Setup(Level.Trial)
+    public void open() throws SQLException {
+        Path dir = Path.of(System.getProperty("coffee.bench.dir", "target/bench-db"));
+        url = "jdbc:derby:" + dir.resolve("orders-" + orders).toAbsolutePath();
+        pool = new ConnectionPool(url + ";create=true", 2, 8, 30_000, 5, 50);
+        pool.warmUp();
+
+        customerRepository = new CustomerRepository(pool);
+        coffeeRepository = new CoffeeRepository(pool);
+        orderRepository = new OrderRepository(pool, customerRepository, coffeeRepository);
+        new SchemaMigrator(pool, customerRepository, coffeeRepository, orderRepository).migrate();
+
+        CachingCustomerRepository customerCache = new CachingCustomerRepository(customerRepository);
+        CachingCoffeeRepository coffeeCache = new CachingCoffeeRepository(coffeeRepository);
+        orderService = new OrderService(new OrderRepository(pool, customerCache, coffeeCache), customerCache,
+                coffeeCache);
+        coffeeService = new CoffeeService(coffeeCache);
+
+        coffees = coffeeRepository.findAll();
+        seedCustomers(Math.max(100, orders / 100));
+        seedOrders();
+        System.out.println("Benchmark database " + url + " ready with " + orderIds.length + " orders and "
+                + customerIds.length + " customers");
+    }
+
+    /**
+     * Deletes the orders written during the trial, closes the pool and shuts the
+     * database down.
+     *
+     * @throws SQLException If the written orders cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement("DELETE FROM COFFEE_ORDER WHERE ORDER_ID > ?")) {
+            stmt.setInt(1, lastSeededOrderId);
+            stmt.executeUpdate();
+        } finally {
+            pool.close();
+            try {
+                DriverManager.getConnection(url + ";shutdown=true").close();
+            } catch (SQLException e) {
+                // Derby reports a successful shutdown as an exception.
+            }
+        }
+    }
+
+    /**
+     * Inserts seeded customers until there are {@code count} of them. Seeded
+     * customers have the email {@code bench-N@example.com} and an effectively
+     * unlimited credit. The IDs and emails of all of them are then loaded.
+     *
+     * @param count The number of seeded customers wanted.
+     * @throws SQLException If the customers cannot be inserted or read.
+     */
+    private void seedCustomers(int count) throws SQLException {
+        List<Customer> seeded = new ArrayList<>();
+        try (var customers = customerRepository.streamAll(SEED_CHUNK)) {
+            customers.filter(customer -> customer.getEmail().startsWith("bench-")).forEach(seeded::add);
+        }
+
+        List<CreateCustomerDto> batch = new ArrayList<>();
+        for (int i = seeded.size(); i < count; i++) {
+            batch.add(new CreateCustomerDto.Builder()
+                    .setFirstName("Bench")
+                    .setLastName("Customer " + i)
+                    .setEmail("bench-" + i + "@example.com")
+                    .setPhone("555-555-5555")
+                    .setStreet(i + " Benchmark Way")
+                    .setCity("Springfield")
+                    .setState("IL")
+                    .setZip("62701")
+                    .setCreditLimit(SEED_CREDIT)
+                    .build());
+            if (batch.size() == SEED_CHUNK) {
+                customerRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            customerRepository.saveAll(batch);
+        }
+
+        if (seeded.size() < count) {
+            seeded.clear();
+            try (var customers = customerRepository.streamAll(SEED_CHUNK)) {
+                customers.filter(customer -> customer.getEmail().startsWith("bench-")).forEach(seeded::add);
+            }
+        }
+        customerIds = seeded.stream().mapToInt(Customer::getCustomerId).toArray();
+        customerEmails = seeded.stream().map(Customer::getEmail).toArray(String[]::new);
+    }
+
+    /**
+     * Inserts random orders from the seeded customers until the database holds
+     * {@link #orders} of them, then loads every order ID. The random sequence is
+     * fixed so that a database seeded twice holds the same orders.
+     *
+     * @throws SQLException If the orders cannot be inserted or read.
+     */
+    private void seedOrders() throws SQLException {
+        Random random = new Random(251);
+        List<CreateOrderDto> batch = new ArrayList<>();
+        for (int i = orderRepository.count(); i < orders; i++) {
+            batch.add(randomOrder(random));
+            if (batch.size() == SEED_CHUNK) {
+                orderRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            orderRepository.saveAll(batch);
+        }
+
+        try (Connection connection = pool.getConnection();
+                Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT ORDER_ID FROM COFFEE_ORDER ORDER BY ORDER_ID")) {
+            int[] ids = new int[orders];
+            int count = 0;
+            while (rs.next()) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                }
+                ids[count++] = rs.getInt(1);
+            }
+            orderIds = Arrays.copyOf(ids, count);
+        }
+        lastSeededOrderId = orderIds.length == 0 ? 0 : orderIds[orderIds.length - 1];
+    }
+
+    /**
+     * Builds an order of one to five of a random coffee for a random seeded
+     * customer.
+     *
+     * @param random The source of randomness.
+     * @return The order.
+     */
+    CreateOrderDto randomOrder(Random random) {
+        Coffee coffee = coffees.get(random.nextInt(coffees.size()));
+        int qty = 1 + random.nextInt(5);
+        return new CreateOrderDto.Builder()
+                .setCustomerId(customerIds[random.nextInt(customerIds.length)])
+                .setCoffeeId(coffee.getCoffeeId())
+                .setQtyOrdered(qty)
+                .setTotal(qty * coffee.getPrice())
+                .build();
+    }
+
+    /**
+     * Builds a random order for the calling benchmark thread.
+     *
+     * @return The order.
+     */
+    CreateOrderDto randomOrder() {
+        return randomOrder(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Returns the email of a random seeded customer, in upper case so that the
+     * lookup has to normalize it.
+     *
+     * @return The email.
+     */
+    String randomEmail() {
+        return customerEmails[ThreadLocalRandom.current().nextInt(customerEmails.length)].toUpperCase();
+    }
+
+    /**
+     * Returns the ID of a random seeded order.
+     *
+     * @return The order ID.
+     */
+    int randomOrderId() {
+        return orderIds[ThreadLocalRandom.current().nextInt(orderIds.length)];
+    }
+}
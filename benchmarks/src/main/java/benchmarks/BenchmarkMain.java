@@ -0,0 +1,34 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The entry point of the benchmark jar. It runs JMH with the given options and,
+ * unless a result format is given with {@code -rf}, writes the results as JSON
+ * to {@code jmh-result.json} so they can be compared between runs.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class BenchmarkMain {
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args JMH command line options.
+     * @throws Exception If JMH fails to run.
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.addAll(List.of("-rf", "json"));
+            if (!options.contains("-rff")) {
+                options.addAll(List.of("-rff", "jmh-result.json"));
+            }
+        }
+        org.openjdk.jmh.Main.main(options.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,76 @@
+package benchmarks;
+
+import entites.Customer;
+import entites.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the database-backed repositories against the seeded
+ * {@link BenchmarkDatabase}. Each benchmark reports both throughput and the
+ * sampled latency distribution.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dcoffee.log.console=false")
+public class RepositoryBenchmark {
+
+    /**
+     * Looks up a random seeded customer by email, in a different case than it
+     * was saved with.
+     *
+     * @param db The benchmark database.
+     * @return The customer found.
+     */
+    @Benchmark
+    public Customer customerFindByEmail(BenchmarkDatabase db) {
+        return db.customerRepository.findByEmail(db.randomEmail());
+    }
+
+    /**
+     * Reads every order with its customer and coffee.
+     *
+     * @param db The benchmark database.
+     * @return All orders.
+     */
+    @Benchmark
+    public List<Order> orderFindAll(BenchmarkDatabase db) {
+        return db.orderRepository.findAll();
+    }
+
+    /**
+     * Reads a random order with its customer and coffee.
+     *
+     * @param db The benchmark database.
+     * @return The order found.
+     */
+    @Benchmark
+    public Order orderFindById(BenchmarkDatabase db) {
+        return db.orderRepository.findById(db.randomOrderId());
+    }
+
+    /**
+     * Inserts a random order without touching the customer's credit.
+     *
+     * @param db The benchmark database.
+     * @return The saved order.
+     */
+    @Benchmark
+    public Order orderSave(BenchmarkDatabase db) {
+        return db.orderRepository.save(db.randomOrder());
+    }
+}
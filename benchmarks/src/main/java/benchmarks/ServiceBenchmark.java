@@ -0,0 +1,54 @@
+package benchmarks;
+
+import entites.Coffee;
+import entites.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the services against the seeded {@link BenchmarkDatabase}, with
+ * the caching repositories in front as in the application. Each benchmark
+ * reports both throughput and the sampled latency distribution.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dcoffee.log.console=false")
+public class ServiceBenchmark {
+
+    /**
+     * Places a random order, debiting the customer's credit in the same
+     * transaction.
+     *
+     * @param db The benchmark database.
+     * @return The placed order.
+     */
+    @Benchmark
+    public Order orderServiceCreateOrder(BenchmarkDatabase db) {
+        return db.orderService.createOrder(db.randomOrder());
+    }
+
+    /**
+     * Reads the coffee menu.
+     *
+     * @param db The benchmark database.
+     * @return All coffees.
+     */
+    @Benchmark
+    public List<Coffee> coffeeServiceGetAllCoffees(BenchmarkDatabase db) {
+        return db.coffeeService.getAllCoffees();
+    }
+}
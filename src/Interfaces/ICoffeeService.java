@@ -3,8 +3,8 @@ package Interfaces;
 import dto.CreateCoffeeDto;
 import dto.UpdateCoffeeDto;
 import entites.Coffee;
+import enums.SortDirection;
 
-import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -18,6 +18,12 @@ import java.util.List;
 public interface ICoffeeService {
     List<Coffee> getAllCoffees();
 
+    List<Coffee> getCoffeesPage(int afterId, int limit, SortDirection sort);
+
+    int getCoffeeCount();
+
+    int getCoffeeIdAt(int offset, SortDirection sort);
+
     Coffee getCoffeeById(int id);
 
     Coffee createCoffee(CreateCoffeeDto coffee);
@@ -25,8 +31,4 @@ public interface ICoffeeService {
     Coffee updateCoffee(UpdateCoffeeDto coffee);
 
     boolean deleteCoffee(int id);
-
-    void resetDatabase() throws SQLException;
-
-    void populateDatabase() throws SQLException;
 }
@@ -12,4 +12,11 @@ import entites.Customer;
  */
 public interface ICustomerRepository extends IRepository<Customer, CreateCustomerDto> {
     Customer findByEmail(String email);
+
+    Customer addCredit(int customerId, double amount, double maxCreditLimit);
+
+    // Called after a customer's row was changed outside this repository, such as
+    // an order debiting their credit. Repositories that cache customers drop it.
+    default void evict(int customerId) {
+    }
 }
@@ -3,8 +3,8 @@ package Interfaces;
 import dto.CreateCustomerDto;
 import dto.UpdateCustomerDto;
 import entites.Customer;
+import enums.SortDirection;
 
-import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -18,6 +18,12 @@ import java.util.List;
 public interface ICustomerService {
     List<Customer> getAllCustomers();
 
+    List<Customer> getCustomersPage(int afterId, int limit, SortDirection sort);
+
+    int getCustomerCount();
+
+    int getCustomerIdAt(int offset, SortDirection sort);
+
     Customer getCustomerById(int id);
 
     Customer getCustomerByEmail(String email);
@@ -26,11 +32,9 @@ public interface ICustomerService {
 
     Customer updateCustomer(UpdateCustomerDto customer);
 
-    boolean deleteCustomer(int id);
-
-    void resetDatabase() throws SQLException;
+    Customer addCredit(int customerId, double amount);
 
-    void populateDatabase() throws SQLException;
+    boolean deleteCustomer(int id);
 
     void login(String email);
 
@@ -3,6 +3,9 @@ package Interfaces;
 import java.util.List;
 
 import dto.CreateOrderDto;
+import dto.OrderHistoryRow;
+import dto.OrderStats;
+import dto.PlacedOrderDto;
 import entites.Order;
 
 /**
@@ -13,5 +16,9 @@ import entites.Order;
  * @since 2025-04-20
  */
 public interface IOrderRepository extends IRepository<Order, CreateOrderDto> {
-  List<Order> findByCustomerId(int customerId);
+  List<OrderHistoryRow> findByCustomerId(int customerId, int offset, int limit);
+
+  OrderStats getStats();
+
+  PlacedOrderDto placeOrder(CreateOrderDto order);
 }
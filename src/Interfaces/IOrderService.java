@@ -1,10 +1,12 @@
 package Interfaces;
 
 import dto.CreateOrderDto;
+import dto.OrderHistoryRow;
+import dto.OrderStats;
 import dto.UpdateOrderDto;
 import entites.Order;
+import enums.SortDirection;
 
-import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -17,17 +19,23 @@ import java.util.List;
 public interface IOrderService {
     List<Order> getAllOrders();
 
+    List<Order> getOrdersPage(int afterId, int limit, SortDirection sort);
+
+    int getOrderCount();
+
+    int getOrderIdAt(int offset, SortDirection sort);
+
     Order getOrderById(int id);
 
-    List<Order> getOrdersByCustomerId(int customerId);
+    List<OrderHistoryRow> getOrderHistory(int customerId);
+
+    List<OrderHistoryRow> getOrderHistory(int customerId, int offset, int limit);
+
+    OrderStats getOrderStats();
 
     Order createOrder(CreateOrderDto order);
 
     Order updateOrder(UpdateOrderDto order);
 
     boolean deleteOrder(int id);
-
-    void resetDatabase() throws SQLException;
-
-    void populateDatabase() throws SQLException;
 }
@@ -0,0 +1,25 @@
+package Interfaces;
+
+import java.util.List;
+
+/**
+ * An interface for a source of rows that can be read a page at a time by
+ * primary key.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public interface IPageSource<T> {
+  int count();
+
+  int getFirstKey();
+
+  int findIdAt(int offset);
+
+  List<T> fetchPage(int afterId, int limit);
+
+  int getRowId(T item);
+
+  Object[] toRow(T item);
+}
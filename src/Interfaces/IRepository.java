@@ -1,7 +1,11 @@
 package Interfaces;
 
+import enums.SortDirection;
+
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * An interface for a repository that manages entities.
@@ -11,19 +15,36 @@ import java.util.List;
  * @since 2025-04-20
  */
 public interface IRepository<M, D> {
-    void initTable() throws SQLException;
-
     List<M> findAll();
 
+    Stream<M> streamAll(int fetchSize) throws SQLException;
+
+    // Runs an action on every row, reading them a fetch at a time.
+    default void forEach(int fetchSize, Consumer<? super M> action) throws SQLException {
+        try (Stream<M> rows = streamAll(fetchSize)) {
+            rows.forEach(action);
+        }
+    }
+
+    List<M> findPage(int afterId, int limit, SortDirection sort);
+
+    int count();
+
+    int findIdAt(int offset, SortDirection sort);
+
     M findById(int id);
 
     M save(D obj);
 
+    int saveAll(List<D> objs) throws SQLException;
+
     M update(D obj);
 
     boolean deleteById(int id);
 
-    void resetDatabase() throws SQLException;
+    void dropTable() throws SQLException;
+
+    void createTable() throws SQLException;
 
     void populateDatabase() throws SQLException;
 }
@@ -1,5 +1,7 @@
 package Interfaces;
 
+import java.awt.Component;
+
 /**
  * An interface for a store that manages a single object.
  * 
@@ -16,8 +18,18 @@ public interface IStore<T> {
 
     public T get();
 
+    public long getVersion();
+
     public void subscribe(Runnable listener);
 
     public void unsubscribe(Runnable listener);
 
-}
\ No newline at end of file
+    public void subscribe(IStoreListener<T> listener);
+
+    public void unsubscribe(IStoreListener<T> listener);
+
+    public void subscribe(Component owner, IStoreListener<T> listener);
+
+    public int getListenerCount();
+
+}
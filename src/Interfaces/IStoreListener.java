@@ -0,0 +1,19 @@
+package Interfaces;
+
+import stores.StoreChange;
+
+/**
+ * A listener for the changes of an {@link IStore}. It is called on the Swing
+ * event thread with what changed, so it can update only the affected parts of
+ * the interface.
+ * 
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+@FunctionalInterface
+public interface IStoreListener<T> {
+
+    public void onChange(StoreChange<T> change);
+
+}
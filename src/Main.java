@@ -16,6 +16,8 @@
  * application state and flow between different views. Data persistence and
  * business logic are handled by service classes invoked by the controller. The
  * UI is built using Swing components with custom styling and layout management.
+ * Started with {@code --loadgen}, it runs the headless
+ * {@link controllers.LoadGenerator} instead of the user interface.
  * 
  * @author Ian Frye
  * @version 1.0
@@ -23,10 +25,17 @@
  * 
  */
 import controllers.AppController;
+import controllers.LoadGenerator;
+
+import java.util.Arrays;
 
 public class Main {
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--loadgen")) {
+            LoadGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         AppController.getInstance().start();
     }
 
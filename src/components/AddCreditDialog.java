@@ -1,8 +1,8 @@
 package components;
 
 import controllers.AppController;
-import dto.UpdateCustomerDto;
 import entites.Customer;
+import services.CustomerService;
 import stores.SelectedCustomerStore;
 import stores.AuthStore;
 import utils.DialogUtils;
@@ -161,16 +161,17 @@ public class AddCreditDialog extends JDialog {
                 double newCreditLimit = currentCustomer.getCreditLimit() + creditToAdd;
 
                 // Validate that current credits + added don't exceed 100.00 credits
-                if (newCreditLimit > 100.00) {
+                if (newCreditLimit > CustomerService.MAX_CREDIT_LIMIT) {
                     // errorLabel.setText("Credit limit cannot exceed $100.00.");
                     DialogUtils.showValidationError(parentView, "Credit limit cannot exceed $100.00.");
                     return;
                 }
 
-                // If everything is successful, update the credit and close the dialog
-                currentCustomer.setCreditLimit(newCreditLimit);
+                // If everything is successful, add the credit and close the dialog. The
+                // credit is added to the stored balance, which orders may have changed
+                // since the dialog opened, so the limit is checked again by the update.
                 Customer updatedCustomer = controller.getCustomerService()
-                        .updateCustomer(UpdateCustomerDto.fromCustomer(currentCustomer));
+                        .addCredit(currentCustomer.getCustomerId(), creditToAdd);
                 if (updatedCustomer != null) {
                     // If the updated customer is the currently logged-in user, update the AuthStore
                     Customer loggedInUser = AuthStore.getInstance().get();
@@ -180,7 +181,8 @@ public class AddCreditDialog extends JDialog {
                     dispose();
                     controller.getViewManager().refreshCurrentView();
                 } else {
-                    DialogUtils.showError(parentView, "Failed to add credits. Please try again.");
+                    DialogUtils.showError(parentView,
+                            "Failed to add credits. The credit limit cannot exceed $100.00.");
                 }
 
             } catch (NumberFormatException ex) {
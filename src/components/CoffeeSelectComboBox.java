@@ -2,6 +2,7 @@ package components;
 
 import controllers.AppController;
 import entites.Coffee;
+import utils.AsyncLoader;
 
 import javax.swing.*;
 import javax.swing.plaf.basic.BasicComboBoxUI;
@@ -11,7 +12,8 @@ import java.awt.*;
  * A custom combo box component for selecting {@link Coffee} entities that are
  * in stock.
  * Extends {@link StyledInputs.StyledComboBox} and populates its items with
- * available coffees.
+ * available coffees, which are loaded in the background while the combo box
+ * shows a disabled loading placeholder.
  * It also customizes the rendering of the list items and the appearance of the
  * dropdown arrow.
  * 
@@ -20,11 +22,14 @@ import java.awt.*;
  * @since 2025-04-20
  */
 public class CoffeeSelectComboBox extends StyledInputs.StyledComboBox<Coffee> {
+    private final AppController appController;
+
     /**
      * Constructs a new {@code CoffeeSelectComboBox} using the provided application
      * controller.
-     * It retrieves all in-stock coffees from the coffee service and populates the
-     * combo box.
+     * It starts loading all in-stock coffees from the coffee service in the
+     * background and populates the combo box once they arrive. Adding the first
+     * coffee selects it, which notifies the combo box's item listeners.
      * Additionally, it sets a custom renderer for displaying coffee names in the
      * dropdown
      * and customizes the UI for the dropdown arrow.
@@ -33,10 +38,9 @@ public class CoffeeSelectComboBox extends StyledInputs.StyledComboBox<Coffee> {
      *                      coffee service.
      */
     public CoffeeSelectComboBox(AppController appController) {
-        super(appController.getCoffeeService().getAllCoffees()
-                .stream()
-                .filter(Coffee::getIsInStock)
-                .toArray(Coffee[]::new));
+        super(new Coffee[0]);
+        this.appController = appController;
+        reload();
 
         setRenderer(new DefaultListCellRenderer() {
             /**
@@ -61,6 +65,8 @@ public class CoffeeSelectComboBox extends StyledInputs.StyledComboBox<Coffee> {
                     int index, boolean isSelected, boolean cellHasFocus) {
                 if (value instanceof Coffee coffee) {
                     value = coffee.getName();
+                } else if (value == null && !CoffeeSelectComboBox.this.isEnabled()) {
+                    value = "Loading coffees…";
                 }
                 JLabel label = (JLabel) super.getListCellRendererComponent(list, value, index, isSelected,
                         cellHasFocus);
@@ -93,4 +99,25 @@ public class CoffeeSelectComboBox extends StyledInputs.StyledComboBox<Coffee> {
 
     }
 
+    /**
+     * Removes the listed coffees and loads the in-stock coffees again in the
+     * background, showing the loading placeholder until they arrive. Adding the
+     * first coffee selects it, which notifies the item listeners.
+     */
+    public void reload() {
+        removeAllItems();
+        setEnabled(false);
+
+        AsyncLoader.load(this,
+                () -> appController.getCoffeeService().getAllCoffees()
+                        .stream()
+                        .filter(Coffee::getIsInStock)
+                        .toArray(Coffee[]::new),
+                coffees -> {
+                    for (Coffee coffee : coffees) {
+                        addItem(coffee);
+                    }
+                    setEnabled(true);
+                });
+    }
 }
\ No newline at end of file
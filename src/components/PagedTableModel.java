@@ -0,0 +1,222 @@
+package components;
+
+import Interfaces.IPageSource;
+import utils.AsyncLoader;
+import utils.Log;
+
+import javax.swing.table.AbstractTableModel;
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A table model that reads its rows from an {@link IPageSource} on demand
+ * instead of holding the whole dataset. The row count comes from a single
+ * count query; a page of rows is only fetched when the table asks for a cell
+ * on it, and at most {@code maxCachedPages} pages are kept, least recently
+ * used first out. Scrolling through a table of any size therefore keeps the
+ * same amount of rows in memory.
+ * <p>
+ * Pages are fetched with keyset queries. The key a page starts after is taken
+ * from the last row of the page before it when that page is cached, which is
+ * always the case while scrolling. Jumping straight to a distant page looks
+ * the key up by position first.
+ * <p>
+ * All queries run through the {@link AsyncLoader}, never on the event thread.
+ * Until a page arrives its rows show a loading placeholder, and the rows are
+ * repainted once it does. The model itself is only touched on the event
+ * thread.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ *
+ * @param <T> The type of the items shown in the rows.
+ */
+public class PagedTableModel<T> extends AbstractTableModel {
+    /**
+     * The text shown in the first column of rows that are still loading.
+     */
+    public static final String LOADING_TEXT = "Loading…";
+
+    private final Component owner;
+    private final List<String> columnNames;
+    private final IPageSource<T> source;
+    private final int pageSize;
+    private final Map<Integer, Page<T>> pages;
+    private final Map<Integer, AsyncLoader.PendingLoad<Page<T>>> loadingPages = new HashMap<>();
+    private AsyncLoader.PendingLoad<Integer> countLoad;
+    private int rowCount;
+    private boolean counted;
+
+    /**
+     * A loaded page: the items and the cell values of their rows.
+     */
+    private record Page<T>(List<T> items, List<Object[]> rows) {
+    }
+
+    /**
+     * Constructs a new {@code PagedTableModel}. The model starts empty; call
+     * {@link #refresh()} to load the row count.
+     *
+     * @param owner          The component the background loads belong to, so
+     *                       they are cancelled when its view closes.
+     * @param columnNames    The column headers.
+     * @param source         The source the rows are read from.
+     * @param pageSize       The number of rows fetched per query.
+     * @param maxCachedPages The maximum number of pages kept in memory.
+     */
+    public PagedTableModel(Component owner, List<String> columnNames, IPageSource<T> source, int pageSize,
+            int maxCachedPages) {
+        this.owner = owner;
+        this.columnNames = List.copyOf(columnNames);
+        this.source = source;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Page<T>> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+    }
+
+    /**
+     * Drops every cached page and reloads the row count in the background, so
+     * the table shows current data. Loads still running for the old data are
+     * cancelled. While the count loads the table shows a single loading row.
+     */
+    public void refresh() {
+        cancelLoads();
+        pages.clear();
+        counted = false;
+        fireTableDataChanged();
+
+        countLoad = AsyncLoader.load(owner, source::count, count -> {
+            rowCount = count;
+            counted = true;
+            fireTableDataChanged();
+        });
+    }
+
+    /**
+     * Returns whether the row at an index is still loading.
+     *
+     * @param row The row index.
+     * @return {@code true} if the row count or the row's page has not arrived.
+     */
+    public boolean isLoading(int row) {
+        return !counted || !pages.containsKey(row / pageSize);
+    }
+
+    /**
+     * Returns the item shown in a row if its page is loaded.
+     *
+     * @param row The row index.
+     * @return The item, or {@code null} if the row is still loading or no longer
+     *         exists in the source.
+     */
+    public T getItem(int row) {
+        Page<T> page = counted ? pages.get(row / pageSize) : null;
+        int index = row % pageSize;
+        return page != null && index < page.items().size() ? page.items().get(index) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return counted ? rowCount : 1;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames.get(column);
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Page<T> page = counted ? getPage(row / pageSize) : null;
+        if (page == null) {
+            return column == 0 ? LOADING_TEXT : null;
+        }
+        int index = row % pageSize;
+        return index < page.rows().size() ? page.rows().get(index)[column] : null;
+    }
+
+    /**
+     * Returns a page from the cache, starting a background fetch if it is not
+     * cached and not already being fetched.
+     *
+     * @param index The page index.
+     * @return The page, or {@code null} if it is still loading.
+     */
+    private Page<T> getPage(int index) {
+        Page<T> page = pages.get(index);
+        AsyncLoader.PendingLoad<Page<T>> loading = loadingPages.get(index);
+        if (page == null && (loading == null || loading.isCancelled())) {
+            fetch(index);
+        }
+        return page;
+    }
+
+    /**
+     * Fetches a page in the background and stores it once it arrives.
+     *
+     * @param index The page index.
+     */
+    private void fetch(int index) {
+        // Read the start key here, on the event thread, while the cache is stable.
+        Integer knownAfterId = null;
+        if (index == 0) {
+            knownAfterId = source.getFirstKey();
+        } else {
+            Page<T> previous = pages.get(index - 1);
+            if (previous != null && previous.items().size() == pageSize) {
+                knownAfterId = source.getRowId(previous.items().getLast());
+            }
+        }
+        Integer afterKey = knownAfterId;
+
+        loadingPages.put(index, AsyncLoader.load(owner, () -> {
+            int afterId = afterKey != null ? afterKey : source.findIdAt(index * pageSize - 1);
+            if (afterId < 0) {
+                return new Page<T>(Collections.emptyList(), Collections.emptyList());
+            }
+            List<T> items = source.fetchPage(afterId, pageSize);
+            List<Object[]> rows = new ArrayList<>(items.size());
+            for (T item : items) {
+                rows.add(source.toRow(item));
+            }
+            return new Page<>(items, rows);
+        }, page -> {
+            loadingPages.remove(index);
+            pages.put(index, page);
+            int first = index * pageSize;
+            int last = Math.min(first + pageSize, rowCount) - 1;
+            if (first <= last) {
+                fireTableRowsUpdated(first, last);
+            }
+        }, e -> {
+            loadingPages.remove(index);
+            Log.error("Failed to load rows: {}", e.getMessage());
+        }));
+    }
+
+    /**
+     * Cancels the count and page loads that are still running.
+     */
+    private void cancelLoads() {
+        if (countLoad != null) {
+            countLoad.cancel();
+        }
+        loadingPages.values().forEach(AsyncLoader.PendingLoad::cancel);
+        loadingPages.clear();
+    }
+}
@@ -1,10 +1,13 @@
 package components;
 
+import Interfaces.IPageSource;
 import Interfaces.ITableData;
+import config.AppConfig;
+import enums.SortDirection;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableCellRenderer;
 import java.awt.*;
 import java.util.List;
 
@@ -12,8 +15,15 @@ import java.util.List;
  * An abstract base class for creating styled JTables with common configurations
  * such as font, row height, header styling, and selection behavior.
  * It implements the {@link ITableData} interface to provide basic data handling
- * capabilities and requires subclasses to implement the {@link #loadData()}
- * method.
+ * capabilities.
+ * <p>
+ * Rows are read through a {@link PagedTableModel}, which only fetches the pages
+ * the table actually paints and keeps a bounded number of them in memory, so
+ * a table over a large dataset scrolls with constant heap. The queries run on
+ * a background thread and rows show a loading placeholder until they arrive.
+ * Subclasses supply the count and page queries, the key of each row and its
+ * raw cell values; values such as prices are formatted by the cell renderer
+ * when painted.
  * 
  * @author Ian Frye
  * @version 1.0
@@ -22,13 +32,13 @@ import java.util.List;
  * @param <T> The type of the data held in the table.
  */
 public abstract class StyledTable<T> extends JTable implements ITableData<T> {
-    private final DefaultTableModel model;
+    private final PagedTableModel<T> model;
+    private final boolean isEditable;
     // Default values
     private static final int DEFAULT_ROW_HEIGHT = 35;
     private static final Font DEFAULT_FONT = new Font("Segoe UI", Font.PLAIN, 16);
     private static final Font DEFAULT_HEADER_FONT = new Font("Segoe UI", Font.BOLD, 18);
     private static final boolean DEFAULT_IS_EDITABLE = false;
-    protected List<T> data;
 
     /**
      * Constructs a new {@code StyledTable} with the specified column names and
@@ -75,22 +85,38 @@ public abstract class StyledTable<T> extends JTable implements ITableData<T> {
     public StyledTable(List<String> columnNames, boolean isEditable,
             int rowHeight, Font font, int selectionModel) {
         // Create model
-        this.model = new DefaultTableModel(columnNames.toArray(), 0) {
-            /**
-             * Overrides the {@code isCellEditable} method to control whether cells can be
-             * edited.
-             *
-             * @param row    The row index of the cell.
-             * @param column The column index of the cell.
-             * @return {@code true} if the cell is editable based on the table's
-             *         {@code isEditable} setting;
-             *         {@code false} otherwise.
-             */
+        this.isEditable = isEditable;
+        this.model = new PagedTableModel<>(this, columnNames, new IPageSource<T>() {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return isEditable;
+            public int count() {
+                return countRows();
             }
-        };
+
+            @Override
+            public int getFirstKey() {
+                return StyledTable.this.getFirstKey();
+            }
+
+            @Override
+            public int findIdAt(int offset) {
+                return findRowIdAt(offset);
+            }
+
+            @Override
+            public List<T> fetchPage(int afterId, int limit) {
+                return StyledTable.this.fetchPage(afterId, limit);
+            }
+
+            @Override
+            public int getRowId(T item) {
+                return StyledTable.this.getRowId(item);
+            }
+
+            @Override
+            public Object[] toRow(T item) {
+                return StyledTable.this.toRow(item);
+            }
+        }, AppConfig.TABLE_PAGE_SIZE, AppConfig.TABLE_CACHED_PAGES);
         this.setModel(model);
 
         // Apply default styling
@@ -125,6 +151,19 @@ public abstract class StyledTable<T> extends JTable implements ITableData<T> {
         setSelectionForeground(Color.BLACK);
     }
 
+    /**
+     * Controls whether cells can be edited.
+     *
+     * @param row    The row index of the cell.
+     * @param column The column index of the cell.
+     * @return {@code true} if the cell is editable based on the table's
+     *         {@code isEditable} setting; {@code false} otherwise.
+     */
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return isEditable;
+    }
+
     /**
      * Sets the horizontal alignment of the text in the specified columns to center.
      *
@@ -133,54 +172,133 @@ public abstract class StyledTable<T> extends JTable implements ITableData<T> {
      *                The indices are 0-based.
      */
     public void setCenterAlignedColumns(int... columns) {
-        DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
-        centerRenderer.setHorizontalAlignment(JLabel.CENTER);
-
         for (int column : columns) {
             if (column < getColumnCount()) {
-                getColumnModel().getColumn(column).setCellRenderer(centerRenderer);
+                getCellRenderer(column).setHorizontalAlignment(JLabel.CENTER);
             }
         }
     }
 
     /**
-     * Adds a new row of data to the table.
+     * Displays the numbers in the specified columns as dollar amounts. The raw
+     * value stays in the model and is only formatted when the cell is painted.
      *
-     * @param rowData An array of {@code Object} representing the data for the new
-     *                row.
-     *                The number of elements should match the number of columns in
-     *                the table.
+     * @param columns An array of integer indices representing the columns holding
+     *                prices. The indices are 0-based.
      */
-    public void addRow(Object[] rowData) {
-        model.addRow(rowData);
+    public void setCurrencyColumns(int... columns) {
+        for (int column : columns) {
+            if (column < getColumnCount()) {
+                getCellRenderer(column).currency = true;
+            }
+        }
     }
 
     /**
-     * Clears all rows of data from the table, keeping only the column headers.
+     * Returns the {@link StyledCellRenderer} of a column, installing one if the
+     * column still uses the default renderer.
+     *
+     * @param column The column index.
+     * @return The column's renderer.
      */
-    public void clearRows() {
-        model.setRowCount(0);
+    private StyledCellRenderer getCellRenderer(int column) {
+        TableCellRenderer renderer = getColumnModel().getColumn(column).getCellRenderer();
+        if (renderer instanceof StyledCellRenderer styled) {
+            return styled;
+        }
+        StyledCellRenderer styled = new StyledCellRenderer();
+        getColumnModel().getColumn(column).setCellRenderer(styled);
+        return styled;
     }
 
     /**
-     * Abstract method to be implemented by subclasses to load data into the table.
-     * This method is responsible for fetching the data of type {@code T} and
-     * populating
-     * the table's model.
+     * Reloads the row count and drops the cached rows, so the table shows the
+     * current data. Returns immediately; the count and the rows are fetched in
+     * the background as they are painted.
      */
     @Override
-    public abstract void loadData();
+    public void loadData() {
+        model.refresh();
+    }
+
+    /**
+     * Returns the key passed to {@link #fetchPage(int, int)} for the first page.
+     * Tables that read their rows in descending order override this.
+     *
+     * @return The key that comes before every row key.
+     */
+    protected int getFirstKey() {
+        return SortDirection.ASCENDING.getFirstKey();
+    }
+
+    /**
+     * Counts the items the table shows.
+     *
+     * @return The number of rows.
+     */
+    protected abstract int countRows();
+
+    /**
+     * Returns the key of the item at a position, used to start a page that is
+     * not preceded by a cached page.
+     *
+     * @param offset The zero-based position of the item.
+     * @return The item's key, or {@code -1} if there is no item there.
+     */
+    protected abstract int findRowIdAt(int offset);
+
+    /**
+     * Fetches the page of items that follows the given key.
+     *
+     * @param afterId The key of the last loaded item, or {@link #getFirstKey()}
+     *                for the first page.
+     * @param limit   The maximum number of items to return.
+     * @return The next items in display order.
+     */
+    protected abstract List<T> fetchPage(int afterId, int limit);
+
+    /**
+     * Returns the key of an item, used to fetch the page that follows it.
+     *
+     * @param item The item.
+     * @return The item's primary key.
+     */
+    protected abstract int getRowId(T item);
+
+    /**
+     * Converts an item to the raw cell values of its row.
+     *
+     * @param item The item to display.
+     * @return The cell values, one per column.
+     */
+    protected abstract Object[] toRow(T item);
 
     /**
      * Returns the currently selected item in the table.
      *
      * @return The selected item of type {@code T}, or {@code null} if no row is
-     *         selected
-     *         or if the data list is {@code null}.
+     *         selected or the selected row no longer exists.
      */
     @Override
     public T getSelectedItem() {
         int selectedRow = getSelectedRow();
-        return selectedRow != -1 && data != null ? data.get(selectedRow) : null;
+        return selectedRow != -1 ? model.getItem(convertRowIndexToModel(selectedRow)) : null;
+    }
+
+    /**
+     * A cell renderer that can center its text and display numbers as dollar
+     * amounts.
+     */
+    private static class StyledCellRenderer extends DefaultTableCellRenderer {
+        private boolean currency;
+
+        @Override
+        protected void setValue(Object value) {
+            if (currency && value instanceof Number number) {
+                setText(String.format("$%.2f", number.doubleValue()));
+            } else {
+                super.setValue(value);
+            }
+        }
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package components;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.font.FontRenderContext;
 
 import javax.swing.JLabel;
 import javax.swing.SwingConstants;
@@ -17,6 +18,27 @@ import javax.swing.SwingConstants;
  * @since 2025-04-20
  */
 public class Typography {
+  // The styles and sizes the views use most, measured by preloadFonts()
+  private static final Font[] COMMON_FONTS = {
+      new Font("Segoe UI", Font.BOLD, 24),
+      new Font("Segoe UI", Font.BOLD, 28),
+      new Font("Segoe UI", Font.ITALIC, 14),
+      new Font("Segoe UI", Font.PLAIN, 14),
+      new Font("Segoe UI", Font.PLAIN, 16),
+      new Font("Segoe UI", Font.BOLD, 16)
+  };
+
+  /**
+   * Loads the application's fonts by measuring some text in each of them. The
+   * first use of a font reads the system font files, which would otherwise
+   * happen while the first view is being built.
+   */
+  public static void preloadFonts() {
+    FontRenderContext context = new FontRenderContext(null, true, true);
+    for (Font font : COMMON_FONTS) {
+      font.getStringBounds("Welcome to Java Cafe 0123456789", context);
+    }
+  }
 
   /**
    * A styled label intended for titles, featuring a bold "Segoe UI" font,
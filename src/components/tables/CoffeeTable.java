@@ -3,6 +3,7 @@ package components.tables;
 import components.StyledTable;
 import controllers.AppController;
 import entites.Coffee;
+import enums.SortDirection;
 import enums.ViewType;
 import stores.CoffeeStore;
 
@@ -40,6 +41,7 @@ public class CoffeeTable extends StyledTable<Coffee> {
 
         // Center align price and in stock columns
         setCenterAlignedColumns(2, 3);
+        setCurrencyColumns(2);
 
         // Load the data
         loadData();
@@ -61,23 +63,65 @@ public class CoffeeTable extends StyledTable<Coffee> {
     }
 
     /**
-     * Loads coffee data from the application controller and populates the table.
-     * Retrieves all {@link Coffee} entities and adds them as rows to the table,
-     * formatting the price and in-stock status for display.
+     * Counts the {@link Coffee} entities shown in the table.
+     *
+     * @return The number of coffees.
+     */
+    @Override
+    protected int countRows() {
+        return this.controller.getCoffeeService().getCoffeeCount();
+    }
+
+    /**
+     * Finds the ID of the {@link Coffee} at a position in the table.
+     *
+     * @param offset The zero-based row position.
+     * @return The coffee's ID, or {@code -1} if there is none.
+     */
+    @Override
+    protected int findRowIdAt(int offset) {
+        return this.controller.getCoffeeService().getCoffeeIdAt(offset, SortDirection.ASCENDING);
+    }
+
+    /**
+     * Fetches the next page of {@link Coffee} entities, in ID order, from the
+     * application controller.
+     *
+     * @param afterId The ID of the last loaded coffee.
+     * @param limit   The maximum number of coffees to fetch.
+     * @return The next {@link Coffee} entities.
+     */
+    @Override
+    protected List<Coffee> fetchPage(int afterId, int limit) {
+        return this.controller.getCoffeeService().getCoffeesPage(afterId, limit, SortDirection.ASCENDING);
+    }
+
+    /**
+     * Returns the ID of a {@link Coffee}, used as the key for the next page.
+     *
+     * @param coffee The coffee.
+     * @return The coffee's ID.
      */
     @Override
-    public void loadData() {
-        this.data = this.controller.getCoffeeService().getAllCoffees();
-        clearRows();
+    protected int getRowId(Coffee coffee) {
+        return coffee.getCoffeeId();
+    }
 
-        for (Coffee coffee : this.data) {
-            addRow(new Object[] {
-                    coffee.getName(),
-                    coffee.getDescription(),
-                    String.format("$%.2f", coffee.getPrice()),
-                    coffee.getIsInStock() ? "Yes" : "No"
-            });
-        }
+    /**
+     * Converts a {@link Coffee} to a table row. The price is kept as a number and
+     * formatted by the renderer.
+     *
+     * @param coffee The coffee to display.
+     * @return The row's cell values.
+     */
+    @Override
+    protected Object[] toRow(Coffee coffee) {
+        return new Object[] {
+                coffee.getName(),
+                coffee.getDescription(),
+                coffee.getPrice(),
+                coffee.getIsInStock() ? "Yes" : "No"
+        };
     }
 
     /**
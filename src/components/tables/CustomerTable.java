@@ -3,6 +3,7 @@ package components.tables;
 import components.StyledTable;
 import controllers.AppController;
 import entites.Customer;
+import enums.SortDirection;
 import views.SuperView;
 import views.ViewAllCustomersView;
 
@@ -40,6 +41,7 @@ public class CustomerTable extends StyledTable<Customer> {
     public CustomerTable(AppController controller, SuperView view) {
         super(List.of("Name", "Street", "City", "State", "Zip", "Email", "Phone", "Credit Limit"), false);
         this.controller = controller;
+        setCurrencyColumns(7);
         addMouseListener(new MouseAdapter() {
             /**
              * Handles mouse click events on the table. If a row is double-clicked,
@@ -59,26 +61,69 @@ public class CustomerTable extends StyledTable<Customer> {
     }
 
     /**
-     * Loads customer data from the application controller and populates the table.
-     * Retrieves all {@link Customer} entities and adds them as rows to the table,
-     * formatting the customer's full name and credit limit for display.
+     * Counts the {@link Customer} entities shown in the table.
+     *
+     * @return The number of customers.
+     */
+    @Override
+    protected int countRows() {
+        return this.controller.getCustomerService().getCustomerCount();
+    }
+
+    /**
+     * Finds the ID of the {@link Customer} at a position in the table.
+     *
+     * @param offset The zero-based row position.
+     * @return The customer's ID, or {@code -1} if there is none.
+     */
+    @Override
+    protected int findRowIdAt(int offset) {
+        return this.controller.getCustomerService().getCustomerIdAt(offset, SortDirection.ASCENDING);
+    }
+
+    /**
+     * Fetches the next page of {@link Customer} entities, in ID order, from the
+     * application controller.
+     *
+     * @param afterId The ID of the last loaded customer.
+     * @param limit   The maximum number of customers to fetch.
+     * @return The next {@link Customer} entities.
+     */
+    @Override
+    protected List<Customer> fetchPage(int afterId, int limit) {
+        return this.controller.getCustomerService().getCustomersPage(afterId, limit, SortDirection.ASCENDING);
+    }
+
+    /**
+     * Returns the ID of a {@link Customer}, used as the key for the next page.
+     *
+     * @param customer The customer.
+     * @return The customer's ID.
+     */
+    @Override
+    protected int getRowId(Customer customer) {
+        return customer.getCustomerId();
+    }
+
+    /**
+     * Converts a {@link Customer} to a table row, joining the customer's full
+     * name. The credit limit is kept as a number and formatted by the renderer.
+     *
+     * @param customer The customer to display.
+     * @return The row's cell values.
      */
     @Override
-    public void loadData() {
-        this.data = this.controller.getCustomerService().getAllCustomers();
-        clearRows();
-        for (Customer customer : this.data) {
-            addRow(new Object[] {
-                    customer.getFirstName() + " " + customer.getLastName(),
-                    customer.getStreet(),
-                    customer.getCity(),
-                    customer.getState(),
-                    customer.getZip(),
-                    customer.getEmail(),
-                    customer.getPhone(),
-                    String.format("$%.2f", customer.getCreditLimit())
-            });
-        }
+    protected Object[] toRow(Customer customer) {
+        return new Object[] {
+                customer.getFirstName() + " " + customer.getLastName(),
+                customer.getStreet(),
+                customer.getCity(),
+                customer.getState(),
+                customer.getZip(),
+                customer.getEmail(),
+                customer.getPhone(),
+                customer.getCreditLimit()
+        };
     }
 
 }
\ No newline at end of file
@@ -3,8 +3,11 @@ package components.tables;
 import components.StyledTable;
 import controllers.AppController;
 import entites.Order;
+import enums.SortDirection;
 import enums.ViewType;
 import stores.OrderStore;
+import utils.AsyncLoader;
+import utils.Log;
 
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -35,6 +38,7 @@ public class OrderTable extends StyledTable<Order> {
     public OrderTable(AppController controller) {
         super(List.of("Order ID", "Customer Name", "Coffee Name", "Quantity", "Total Price"), false);
         this.controller = controller;
+        setCurrencyColumns(4);
 
         addMouseListener(new MouseAdapter() {
             /**
@@ -53,44 +57,85 @@ public class OrderTable extends StyledTable<Order> {
     }
 
     /**
-     * Loads order data from the application controller and populates the table.
-     * Retrieves all {@link Order} entities and adds them as rows to the table,
-     * displaying the order ID, customer name, coffee name, quantity ordered, and
-     * total price.
+     * Counts the {@link Order} entities shown in the table.
+     *
+     * @return The number of orders.
      */
     @Override
-    public void loadData() {
-        this.data = this.controller.getOrderService().getAllOrders();
+    protected int countRows() {
+        return this.controller.getOrderService().getOrderCount();
+    }
 
-        clearRows();
-        for (Order order : this.data) {
-            addRow(new Object[] {
-                    order.getOrderId(),
-                    order.getCustomer().getCustomerName(),
-                    order.getCoffee().getCoffeeName(),
-                    (int) order.getQtyOrdered(),
-                    String.format("$%.2f", order.getTotal())
-            });
-        }
+    /**
+     * Finds the ID of the {@link Order} at a position in the table.
+     *
+     * @param offset The zero-based row position.
+     * @return The order's ID, or {@code -1} if there is none.
+     */
+    @Override
+    protected int findRowIdAt(int offset) {
+        return this.controller.getOrderService().getOrderIdAt(offset, SortDirection.ASCENDING);
+    }
+
+    /**
+     * Fetches the next page of {@link Order} entities, in ID order, from the
+     * application controller.
+     *
+     * @param afterId The ID of the last loaded order.
+     * @param limit   The maximum number of orders to fetch.
+     * @return The next {@link Order} entities.
+     */
+    @Override
+    protected List<Order> fetchPage(int afterId, int limit) {
+        return this.controller.getOrderService().getOrdersPage(afterId, limit, SortDirection.ASCENDING);
+    }
+
+    /**
+     * Returns the ID of a {@link Order}, used as the key for the next page.
+     *
+     * @param order The order.
+     * @return The order's ID.
+     */
+    @Override
+    protected int getRowId(Order order) {
+        return order.getOrderId();
+    }
 
+    /**
+     * Converts an {@link Order} to a table row, displaying the order ID, customer
+     * name, coffee name, quantity ordered, and total price.
+     *
+     * @param order The order to display.
+     * @return The row's cell values.
+     */
+    @Override
+    protected Object[] toRow(Order order) {
+        return new Object[] {
+                order.getOrderId(),
+                order.getCustomer().getCustomerName(),
+                order.getCoffee().getCoffeeName(),
+                (int) order.getQtyOrdered(),
+                order.getTotal()
+        };
     }
 
     /**
      * Handles the action of viewing the details of a selected order.
      * Retrieves the selected {@link Order} entity, fetches the complete order
-     * details
-     * using the order ID, stores it in the {@link OrderStore}, and navigates the
-     * application to the order detail view.
+     * details in the background using the order ID, then stores it in the
+     * {@link OrderStore} and navigates the application to the order detail view.
      */
     public void handleViewDetails() {
         Order selectedOrder = getSelectedItem();
 
-        System.out.println("selectedOrder: " + selectedOrder);
+        Log.debug("selectedOrder: {}", selectedOrder);
 
         if (selectedOrder != null) {
-            Order order = controller.getOrderService().getOrderById(selectedOrder.getOrderId());
-            OrderStore.getInstance().set(order);
-            controller.setDisplay(ViewType.ORDER_DETAIL_VIEW);
+            AsyncLoader.load(this, () -> controller.getOrderService().getOrderById(selectedOrder.getOrderId()),
+                    order -> {
+                        OrderStore.getInstance().set(order);
+                        controller.setDisplay(ViewType.ORDER_DETAIL_VIEW);
+                    });
         }
     }
 }
\ No newline at end of file
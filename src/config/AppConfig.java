@@ -1,13 +1,68 @@
 package config;
 
+import enums.DeleteRule;
+import enums.LogLevel;
+
 /**
  * A configuration class for the application.
- * It contains the database URL and the tax rate.
+ * It contains the database URL, the connection pool settings, the order
+ * delete rule, the customer cache settings, the table paging settings, the
+ * view cache size, the metrics settings, the logging settings, the shutdown
+ * timeout and the background loading settings.
+ * These settings can be overridden with system properties, for example
+ * {@code -Dcoffee.db.pool.max=20}.
  * 
  * @author Ian Frye
  * @version 1.0
  * @since 2025-04-20
  */
 public class AppConfig {
-    public static final String DB_URL = "jdbc:derby:dbCoffeeStoreData;create=true";
+    public static final String DB_URL = System.getProperty("coffee.db.url", "jdbc:derby:dbCoffeeStoreData;create=true");
+
+    // Connection pool settings
+    public static final int DB_POOL_MIN_SIZE = Integer.getInteger("coffee.db.pool.min", 2);
+    public static final int DB_POOL_MAX_SIZE = Integer.getInteger("coffee.db.pool.max", 10);
+    public static final long DB_POOL_BORROW_TIMEOUT_MS = Long.getLong("coffee.db.pool.timeoutMs", 5000L);
+    public static final int DB_POOL_VALIDATION_TIMEOUT_SECONDS = Integer.getInteger("coffee.db.pool.validationTimeout", 2);
+    public static final int DB_STATEMENT_CACHE_SIZE = Integer.getInteger("coffee.db.statementCacheSize", 50);
+    public static final int DB_BATCH_SIZE = Integer.getInteger("coffee.db.batchSize", 1000);
+    public static final int DB_FETCH_SIZE = Integer.getInteger("coffee.db.fetchSize", 500);
+    // Re-read every saved or updated row from the database, for debugging
+    public static final boolean DB_VERIFY_WRITES = Boolean.getBoolean("coffee.db.verifyWrites");
+
+    // What deleting a customer or coffee does to its orders: CASCADE or RESTRICT
+    public static final DeleteRule DB_ORDER_DELETE_RULE = DeleteRule.valueOf(
+            System.getProperty("coffee.db.orderDeleteRule", "CASCADE").toUpperCase());
+
+    // Customer cache settings
+    public static final int CUSTOMER_CACHE_CAPACITY = Integer.getInteger("coffee.cache.customers.capacity", 1000);
+    public static final long CUSTOMER_CACHE_TTL_SECONDS = Long.getLong("coffee.cache.customers.ttlSeconds", 300L);
+
+    // Table settings
+    public static final int TABLE_PAGE_SIZE = Integer.getInteger("coffee.table.pageSize", 100);
+    public static final int TABLE_CACHED_PAGES = Integer.getInteger("coffee.table.cachedPages", 5);
+
+    // View cache settings; how many reusable views are kept hidden instead of disposed
+    public static final int VIEW_CACHE_SIZE = Integer.getInteger("coffee.views.cacheSize", 4);
+
+    // Metrics settings; the report is logged every dumpSeconds, 0 turns logging it off
+    public static final boolean METRICS_ENABLED = Boolean.parseBoolean(
+            System.getProperty("coffee.metrics.enabled", "true"));
+    public static final long METRICS_DUMP_SECONDS = Long.getLong("coffee.metrics.dumpSeconds", 0L);
+
+    // Logging settings
+    public static final LogLevel LOG_LEVEL = LogLevel.valueOf(
+            System.getProperty("coffee.log.level", "INFO").toUpperCase());
+    public static final String LOG_FILE = System.getProperty("coffee.log.file", "logs/coffee.log");
+    public static final long LOG_MAX_FILE_BYTES = Long.getLong("coffee.log.maxFileBytes", 10L * 1024 * 1024);
+    public static final int LOG_MAX_FILES = Integer.getInteger("coffee.log.maxFiles", 5);
+    public static final int LOG_BUFFER_SIZE = Integer.getInteger("coffee.log.bufferSize", 8192);
+    // Also print log messages to the console, as the application did before it had a log file
+    public static final boolean LOG_CONSOLE = Boolean.parseBoolean(System.getProperty("coffee.log.console", "true"));
+
+    // How long shutdown waits for background loads and borrowed connections
+    public static final long SHUTDOWN_TIMEOUT_MS = Long.getLong("coffee.shutdown.timeoutMs", 5000L);
+
+    // Background loading settings
+    public static final int ASYNC_LOADER_THREADS = Integer.getInteger("coffee.async.threads", 4);
 }
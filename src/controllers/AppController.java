@@ -1,23 +1,48 @@
 package controllers;
 
 import Interfaces.*;
+import components.Typography;
+import config.AppConfig;
+import enums.DatabaseStartup;
 import enums.ViewType;
+import repositories.CachingCoffeeRepository;
+import repositories.CachingCustomerRepository;
 import repositories.CoffeeRepository;
 import repositories.CustomerRepository;
 import repositories.OrderRepository;
+import repositories.SchemaMigrator;
 import services.CoffeeService;
 import services.CustomerService;
+import services.ImageIconService;
 import services.OrderService;
+import stores.Store;
+import utils.AsyncLoader;
+import utils.Bootstrap;
+import utils.CacheStats;
 import utils.ConnectionFactory;
+import utils.ConnectionPool;
+import utils.DerbyLifecycle;
+import utils.Log;
+import utils.Metrics;
 
-import java.sql.Connection;
+import javax.swing.SwingUtilities;
+import java.lang.management.ManagementFactory;
 import java.sql.SQLException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The central controller for the application, managing services, repositories,
  * and the view manager. It follows a singleton pattern to ensure only one
  * instance exists throughout the application lifecycle. It also initializes
- * database connections and tables upon creation.
+ * the database connection pool and brings the database schema up to date in
+ * the background upon creation, and shuts the database down cleanly when the
+ * JVM exits.
  * 
  * @author Ian Frye
  * @version 1.0
@@ -26,11 +51,21 @@ import java.sql.SQLException;
 public class AppController {
     private ICustomerRepository customerRepository;
     private ICoffeeRepository coffeeRepository;
+    private CacheStats customerCacheStats;
+    private CacheStats coffeeCacheStats;
     private IOrderRepository orderRepository;
+    private SchemaMigrator schemaMigrator;
     private final ViewManager viewManager;
     private final ICustomerService customerService;
     private final ICoffeeService coffeeService;
     private final IOrderService orderService;
+    private final AtomicBoolean shutDown = new AtomicBoolean();
+    private final Bootstrap bootstrap = new Bootstrap(BOOTSTRAP_THREADS);
+    private final CompletableFuture<Void> databaseReady;
+    private final ConnectionPool pool;
+
+    // Enough for the database and resource phases to run side by side
+    private static final int BOOTSTRAP_THREADS = 2;
 
     /**
      * The tax rate applied to orders.
@@ -57,34 +92,114 @@ public class AppController {
     }
 
     /**
-     * Private constructor to enforce the singleton pattern. Initializes database
-     * connections, repositories, services, and the view manager. If database
-     * initialization fails, the application will exit.
+     * Private constructor to enforce the singleton pattern. Wires up the
+     * connection pool, repositories, services, and the view manager, which
+     * touches neither the database nor the screen, and registers a shutdown
+     * hook that runs {@link #shutdown()}. The slow work is then started on
+     * background threads so the login view can be shown right away:
+     * <ul>
+     * <li>{@code database} opens the database, including any recovery, and
+     * logs how long that took.</li>
+     * <li>{@code schema} then brings the schema up to date.</li>
+     * <li>{@code caches} then opens the rest of the pool's connections and
+     * loads the coffee menu cache.</li>
+     * <li>{@code resources} loads the fonts and images the views use, in
+     * parallel with the database work.</li>
+     * </ul>
+     * Getters that hand out services or repositories wait for the schema phase,
+     * except on the event thread, which they never block; views that can be used
+     * before then, like the login view, hold their actions back until
+     * {@link #whenDatabaseReady(Runnable)} runs. Once every phase has finished,
+     * a timing breakdown is logged. If database initialization fails, the
+     * application will exit.
      */
     private AppController() {
-        try {
-            Connection conn = ConnectionFactory.getConnection();
-            initializeRepositories(conn);
-        } catch (SQLException e) {
-            System.out.println("Failed to initialize repositories: " + e.getMessage());
-            System.out.println("Exiting....");
-            System.exit(1);
-        }
+        long start = System.nanoTime();
+        pool = ConnectionFactory.getPool();
+        initializeRepositories(pool);
 
         // Initialize services
-        this.customerService = new CustomerService(this.customerRepository);
-        this.coffeeService = new CoffeeService(this.coffeeRepository);
-        this.orderService = new OrderService(this.orderRepository, this.customerRepository);
+        Metrics metrics = Metrics.getInstance();
+        this.customerService = metrics.instrument(ICustomerService.class,
+                new CustomerService(this.customerRepository), Metrics.SERVICE);
+        this.coffeeService = metrics.instrument(ICoffeeService.class,
+                new CoffeeService(this.coffeeRepository), Metrics.SERVICE);
+        this.orderService = metrics.instrument(IOrderService.class,
+                new OrderService(this.orderRepository, this.customerRepository, this.coffeeRepository),
+                Metrics.SERVICE);
+        initializeMetrics(pool);
 
         // Initialize view manager
         this.viewManager = new ViewManager(this);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "app-shutdown"));
+        bootstrap.record("wiring", start);
+
+        CompletableFuture<Void> database = bootstrap.run("database", this::openDatabase);
+        this.databaseReady = bootstrap.runAfter(database, "schema", schemaMigrator::migrate);
+        this.databaseReady.exceptionally(this::exitOnFailure);
+        bootstrap.runAfter(databaseReady, "caches", this::warmCaches);
+        bootstrap.run("resources", () -> {
+            Typography.preloadFonts();
+            ImageIconService.preload();
+        });
+        bootstrap.whenDone().thenRun(() -> {
+            Log.info("Startup timing:{}{}", System.lineSeparator(), bootstrap.report());
+            bootstrap.shutdown();
+        });
     }
 
     /**
      * Starts the application by setting the initial display to the login view.
+     * The view does not wait for the database, only for its own resources.
      */
     public void start() {
         viewManager.setDisplay(ViewType.LOGIN_VIEW);
+        Log.info("Login view shown {} ms after launch", ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    /**
+     * Shuts the application's background work and the database down. A
+     * database that is still starting is first given
+     * {@link AppConfig#SHUTDOWN_TIMEOUT_MS} to finish. Pending background loads
+     * are cancelled and running ones are given the same time, as are borrowed
+     * connections. The pool is then closed, the database is checkpointed and the
+     * Derby engine is shut down, so the next startup has no log to replay. Only
+     * the first call does anything; the shutdown hook calls it on exit.
+     */
+    public void shutdown() {
+        if (!shutDown.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.nanoTime();
+        Metrics.getInstance().startDumping(0);
+        try {
+            // Let a database that is still starting finish before closing it
+            databaseReady.get(AppConfig.SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Closing the pool below stops whatever is still running
+        }
+        if (!AsyncLoader.shutdown(AppConfig.SHUTDOWN_TIMEOUT_MS)) {
+            Log.warn("Background loads still running after {} ms", AppConfig.SHUTDOWN_TIMEOUT_MS);
+        }
+        if (!pool.close(AppConfig.SHUTDOWN_TIMEOUT_MS)) {
+            Log.warn("Connections still borrowed after {} ms", AppConfig.SHUTDOWN_TIMEOUT_MS);
+        }
+        boolean opened = databaseReady.isDone() && !databaseReady.isCompletedExceptionally();
+        if (opened) {
+            try {
+                DerbyLifecycle.checkpoint(AppConfig.DB_URL);
+            } catch (SQLException e) {
+                Log.error("Failed to checkpoint the database: {}", e.getMessage());
+            }
+        }
+        if (DerbyLifecycle.shutdownEngine() && opened) {
+            DerbyLifecycle.markCleanShutdown(AppConfig.DB_URL);
+            Log.info("Database shut down in {} ms", (System.nanoTime() - start) / 1_000_000);
+        }
+        Log.flush();
     }
 
     /**
@@ -103,6 +218,7 @@ public class AppController {
      * @return The coffee service.
      */
     public ICoffeeService getCoffeeService() {
+        awaitDatabase();
         return this.coffeeService;
     }
 
@@ -112,6 +228,7 @@ public class AppController {
      * @return The customer service.
      */
     public ICustomerService getCustomerService() {
+        awaitDatabase();
         return this.customerService;
     }
 
@@ -121,6 +238,7 @@ public class AppController {
      * @return The order service.
      */
     public IOrderService getOrderService() {
+        awaitDatabase();
         return this.orderService;
     }
 
@@ -130,18 +248,49 @@ public class AppController {
      * @return The coffee repository.
      */
     public ICoffeeRepository getCoffeeRepository() {
+        awaitDatabase();
         return this.coffeeRepository;
     }
 
+    /**
+     * Returns the hit, miss and eviction counts of the customer cache.
+     *
+     * @return The customer cache statistics.
+     */
+    public CacheStats getCustomerCacheStats() {
+        return this.customerCacheStats;
+    }
+
+    /**
+     * Returns the hit and miss counts of the coffee menu cache.
+     *
+     * @return The coffee cache statistics.
+     */
+    public CacheStats getCoffeeCacheStats() {
+        return this.coffeeCacheStats;
+    }
+
     /**
      * Returns the {@link IOrderRepository} instance.
      *
      * @return The order repository.
      */
     public IOrderRepository getOrderRepository() {
+        awaitDatabase();
         return this.orderRepository;
     }
 
+    /**
+     * Returns the {@link SchemaMigrator} instance, which owns schema upgrades and
+     * the admin reset/populate actions.
+     *
+     * @return The schema migrator.
+     */
+    public SchemaMigrator getSchemaMigrator() {
+        awaitDatabase();
+        return this.schemaMigrator;
+    }
+
     /**
      * Returns the {@link ViewManager} instance.
      *
@@ -152,25 +301,135 @@ public class AppController {
     }
 
     /**
-     * Initializes the repositories for customers, coffees, and orders using the
-     * provided database connection. It also calls the {@code initTable()} method
-     * for each repository to ensure their respective tables exist in the database.
+     * Returns whether the database has been opened and its schema brought up to
+     * date, so the service getters return without waiting.
      *
-     * @param conn The {@link Connection} to the database.
-     * @throws SQLException If an error occurs during database interaction.
+     * @return {@code true} once the database is ready.
      */
-    private void initializeRepositories(Connection conn) throws SQLException {
-        customerRepository = new CustomerRepository(conn);
-        coffeeRepository = new CoffeeRepository(conn);
-        orderRepository = new OrderRepository(conn);
+    public boolean isDatabaseReady() {
+        return databaseReady.isDone() && !databaseReady.isCompletedExceptionally();
+    }
 
-        customerRepository.initTable();
-        System.out.println("Customer table initialized");
+    /**
+     * Runs an action on the event thread once the database is ready, or soon
+     * after this call if it already is. The action is not run if the database
+     * fails to start.
+     *
+     * @param action The action, usually enabling the controls of a view.
+     */
+    public void whenDatabaseReady(Runnable action) {
+        databaseReady.thenRun(() -> SwingUtilities.invokeLater(action));
+    }
+
+    /**
+     * Waits until the database has been opened and its schema brought up to
+     * date. Returns at once after startup. The event thread is never made to
+     * wait, since that would freeze every window; views are expected to check
+     * {@link #isDatabaseReady()} first.
+     *
+     * @throws IllegalStateException If the database failed to start; the
+     *                               application is exiting in that case. Also
+     *                               thrown on the event thread while the
+     *                               database is still starting.
+     */
+    private void awaitDatabase() {
+        if (!databaseReady.isDone() && SwingUtilities.isEventDispatchThread()) {
+            throw new IllegalStateException("The database is still starting. Please try again in a moment.");
+        }
+        try {
+            databaseReady.join();
+        } catch (CompletionException | CancellationException e) {
+            throw new IllegalStateException("The database failed to start", e.getCause());
+        }
+    }
+
+    /**
+     * Opens the database by borrowing the first connection, which boots Derby
+     * and replays its log if it was not shut down cleanly, and logs how the
+     * database was left and how long opening it took.
+     *
+     * @throws SQLException If the database cannot be opened.
+     */
+    private void openDatabase() throws SQLException {
+        DatabaseStartup startup = DerbyLifecycle.beginStartup(AppConfig.DB_URL);
+        long start = System.nanoTime();
+        // The first connection boots the database and replays its log
+        pool.getConnection().close();
+        Log.info("Database {} in {} ms", startup.getDescription(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Opens the rest of the pool's idle connections and loads the coffee menu
+     * cache, so the first queries after login do not pay for either.
+     *
+     * @throws SQLException If a connection cannot be opened.
+     */
+    private void warmCaches() throws SQLException {
+        pool.warmUp();
+        coffeeRepository.findAll();
+    }
+
+    /**
+     * Logs a failed database startup and exits the application.
+     *
+     * @param error The failure.
+     * @return Nothing; the application exits.
+     */
+    private Void exitOnFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!shutDown.get()) {
+            Log.error("Failed to initialize the database: {}", cause.getMessage());
+            Log.error("Exiting....");
+            System.exit(1);
+        }
+        return null;
+    }
 
-        coffeeRepository.initTable();
-        System.out.println("Coffee table initialized");
+    /**
+     * Initializes the repositories for customers, coffees, and orders using the
+     * provided connection pool. Coffees are read through a
+     * {@link CachingCoffeeRepository}, so the menu is only queried again after it
+     * changes, and customers through a {@link CachingCustomerRepository}, so
+     * repeated lookups of the same customer are served from memory. Each
+     * repository is instrumented by {@link Metrics}. It then creates the
+     * {@link SchemaMigrator}, which the schema phase runs to create the tables on
+     * a new database and apply any missing migrations on an existing one.
+     * Existing data is never dropped on startup. Nothing here touches the
+     * database.
+     *
+     * @param pool The {@link ConnectionPool} the repositories borrow connections
+     *             from.
+     */
+    private void initializeRepositories(ConnectionPool pool) {
+        Metrics metrics = Metrics.getInstance();
+        CachingCustomerRepository customerCache = new CachingCustomerRepository(new CustomerRepository(pool));
+        customerCacheStats = customerCache.getStats();
+        customerRepository = metrics.instrument(ICustomerRepository.class, customerCache, Metrics.REPOSITORY);
+        CachingCoffeeRepository coffeeCache = new CachingCoffeeRepository(new CoffeeRepository(pool));
+        coffeeCacheStats = coffeeCache.getStats();
+        coffeeRepository = metrics.instrument(ICoffeeRepository.class, coffeeCache, Metrics.REPOSITORY);
+        orderRepository = metrics.instrument(IOrderRepository.class,
+                new OrderRepository(pool, customerRepository, coffeeRepository), Metrics.REPOSITORY);
 
-        orderRepository.initTable();
-        System.out.println("Order table initialized");
+        schemaMigrator = new SchemaMigrator(pool, customerRepository, coffeeRepository, orderRepository);
+    }
+
+    /**
+     * Adds the cache, connection pool and store listener statistics to the
+     * {@link Metrics} report and starts printing it every
+     * {@link AppConfig#METRICS_DUMP_SECONDS} seconds, if set.
+     *
+     * @param pool The {@link ConnectionPool} to report on.
+     */
+    private void initializeMetrics(ConnectionPool pool) {
+        Metrics metrics = Metrics.getInstance();
+        metrics.addSection(customerCacheStats::toString);
+        metrics.addSection(coffeeCacheStats::toString);
+        metrics.addSection(() -> String.format(
+                "Connection pool: %d active, %d idle, %d open of %d; statement cache %.1f%% hit rate",
+                pool.getActiveCount(), pool.getIdleCount(), pool.getOpenCount(), pool.getMaxSize(),
+                pool.getStatementCacheHitRate() * 100));
+        metrics.addSection(Store::report);
+        metrics.startDumping(AppConfig.METRICS_DUMP_SECONDS);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,610 @@
+package controllers;
+
+import Interfaces.ICoffeeService;
+import Interfaces.ICustomerService;
+import Interfaces.IOrderService;
+import config.AppConfig;
+import dto.CreateCustomerDto;
+import dto.CreateOrderDto;
+import entites.Coffee;
+import entites.Customer;
+import enums.SortDirection;
+import enums.TerminalAction;
+import exceptions.InsufficientCreditException;
+import services.CustomerService;
+import utils.LatencyHistogram;
+import utils.Metrics;
+
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A headless load generator that simulates many order terminals using the
+ * application at once. Each terminal is a thread that logs in as a customer
+ * and then repeatedly browses the menu, places orders and tops up its credit,
+ * calling the same services the views and listeners call. No window is opened.
+ * <p>
+ * Options are given as {@code key=value} arguments:
+ * <ul>
+ * <li>{@code terminals} - the number of concurrent terminals (default 8).</li>
+ * <li>{@code customers} - the number of customers the terminals log in as
+ * (default one per terminal). Fewer customers than terminals makes terminals
+ * share customers and contend for the same rows.</li>
+ * <li>{@code duration} - the measured run time in seconds (default 30).</li>
+ * <li>{@code warmup} - seconds run before measuring starts (default 5).</li>
+ * <li>{@code rate} - the target number of actions per second across all
+ * terminals, or {@code 0} to run each terminal as fast as it can (default
+ * 0).</li>
+ * <li>{@code mix} - the relative weight of each action, for example
+ * {@code mix=login:5,browse:50,order:35,topup:10}.</li>
+ * </ul>
+ * When a rate is set, each action is scheduled ahead of time and its latency is
+ * measured from when it was due rather than when it started, so a stall that
+ * delays later actions shows up in their latency instead of hiding it.
+ * <p>
+ * The report lists the throughput and the p50, p99 and p99.9 latency of each
+ * action, orders rejected for insufficient credit, and errors grouped by cause,
+ * such as lock timeouts. It then checks that each customer's credit equals
+ * their starting credit plus the top-ups minus the orders the terminals made,
+ * reporting any customer whose balance drifted, which would mean a lost
+ * update. The {@link Metrics} report of the services and repositories
+ * underneath comes last.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class LoadGenerator {
+    private static final String EMAIL_FORMAT = "loadgen-%d@example.com";
+    // The same credit cap the Add Credit dialog enforces
+    private static final double CREDIT_CAP = CustomerService.MAX_CREDIT_LIMIT;
+
+    private final ICustomerService customerService;
+    private final ICoffeeService coffeeService;
+    private final IOrderService orderService;
+    private final Options options;
+
+    private final Map<TerminalAction, LatencyHistogram> latencies = new EnumMap<>(TerminalAction.class);
+    private final Map<TerminalAction, LongAdder> rejected = new EnumMap<>(TerminalAction.class);
+    private final Map<TerminalAction, LongAdder> failed = new EnumMap<>(TerminalAction.class);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<Integer, Ledger> ledgers = new ConcurrentHashMap<>();
+
+    /**
+     * The settings of a load test.
+     *
+     * @param terminals       The number of concurrent terminals.
+     * @param customers       The number of customers the terminals log in as.
+     * @param durationSeconds The measured run time.
+     * @param warmupSeconds   The run time before measuring starts.
+     * @param rate            The target actions per second, or {@code 0} for
+     *                        no limit.
+     * @param mix             The relative weight of each action.
+     */
+    public record Options(int terminals, int customers, int durationSeconds, int warmupSeconds, double rate,
+            Map<TerminalAction, Integer> mix) {
+
+        /**
+         * Parses {@code key=value} arguments, using the defaults for any that
+         * are missing.
+         *
+         * @param args The arguments.
+         * @return The options.
+         * @throws IllegalArgumentException If an argument is unknown or invalid.
+         */
+        public static Options parse(String[] args) {
+            Map<String, String> values = new TreeMap<>();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (eq < 1) {
+                    throw new IllegalArgumentException("Expected key=value but got: " + arg);
+                }
+                values.put(arg.substring(0, eq).trim().toLowerCase(), arg.substring(eq + 1).trim());
+            }
+
+            int terminals = Integer.parseInt(values.getOrDefault("terminals", "8"));
+            Map<TerminalAction, Integer> mix = new EnumMap<>(TerminalAction.class);
+            if (values.containsKey("mix")) {
+                for (TerminalAction action : TerminalAction.values()) {
+                    mix.put(action, 0);
+                }
+                for (String part : values.get("mix").split(",")) {
+                    String[] pair = part.split("[:=]");
+                    if (pair.length != 2) {
+                        throw new IllegalArgumentException("Expected action:weight but got: " + part);
+                    }
+                    mix.put(TerminalAction.fromKey(pair[0]), Integer.parseInt(pair[1].trim()));
+                }
+            } else {
+                for (TerminalAction action : TerminalAction.values()) {
+                    mix.put(action, action.getDefaultWeight());
+                }
+            }
+
+            Options options = new Options(
+                    terminals,
+                    Integer.parseInt(values.getOrDefault("customers", String.valueOf(terminals))),
+                    Integer.parseInt(values.getOrDefault("duration", "30")),
+                    Integer.parseInt(values.getOrDefault("warmup", "5")),
+                    Double.parseDouble(values.getOrDefault("rate", "0")),
+                    mix);
+            values.keySet().removeAll(List.of("terminals", "customers", "duration", "warmup", "rate", "mix"));
+            if (!values.isEmpty()) {
+                throw new IllegalArgumentException("Unknown load generator options: " + values.keySet());
+            }
+            if (terminals < 1 || options.customers < 1 || options.durationSeconds < 1 || options.warmupSeconds < 0
+                    || options.rate < 0 || mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+                throw new IllegalArgumentException("Load generator options out of range: " + options);
+            }
+            return options;
+        }
+    }
+
+    /**
+     * The state one terminal keeps between actions, like the logged-in
+     * customer a register would remember.
+     */
+    private static class Session {
+        final String email;
+        Customer customer;
+
+        Session(String email) {
+            this.email = email;
+        }
+    }
+
+    /**
+     * The credit movements the terminals made for one customer, in cents, from
+     * the warm-up on.
+     */
+    private static class Ledger {
+        final long startCents;
+        final LongAdder toppedUpCents = new LongAdder();
+        final LongAdder debitedCents = new LongAdder();
+
+        Ledger(double startCredit) {
+            this.startCents = toCents(startCredit);
+        }
+
+        long expectedCents() {
+            return startCents + toppedUpCents.sum() - debitedCents.sum();
+        }
+    }
+
+    /**
+     * Constructs a new {@code LoadGenerator} that drives the services of the
+     * given controller.
+     *
+     * @param controller The application controller.
+     * @param options    The load test settings.
+     */
+    public LoadGenerator(AppController controller, Options options) {
+        this.customerService = controller.getCustomerService();
+        this.coffeeService = controller.getCoffeeService();
+        this.orderService = controller.getOrderService();
+        this.options = options;
+        for (TerminalAction action : TerminalAction.values()) {
+            latencies.put(action, new LatencyHistogram());
+            rejected.put(action, new LongAdder());
+            failed.put(action, new LongAdder());
+        }
+    }
+
+    /**
+     * Runs a load test with the given arguments against the application's
+     * database and prints the report.
+     *
+     * @param args The {@code key=value} options.
+     */
+    public static void main(String[] args) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: --loadgen [terminals=8] [customers=8] [duration=30] [warmup=5] [rate=0]"
+                    + " [mix=login:5,browse:50,order:35,topup:10]");
+            System.exit(2);
+            return;
+        }
+        new LoadGenerator(AppController.getInstance(), options).run();
+        System.exit(0);
+    }
+
+    /**
+     * Creates the load test customers that do not exist yet, runs every
+     * terminal for the warm-up and the measured duration, and prints the
+     * report.
+     */
+    public void run() {
+        createCustomers();
+        recordStartingCredit();
+        System.out.printf("Load test: %d terminals, %d customers, %ds warm-up, %ds measured, rate %s, mix %s%n",
+                options.terminals(), options.customers(), options.warmupSeconds(), options.durationSeconds(),
+                options.rate() > 0 ? options.rate() + "/s" : "unlimited", describeMix());
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.terminals());
+        for (int i = 0; i < options.terminals(); i++) {
+            int terminal = i;
+            executor.submit(() -> runTerminal(terminal, start, measureFrom, end));
+        }
+        executor.shutdown();
+        try {
+            // Leave the warm-up out of the service and repository metrics too
+            TimeUnit.NANOSECONDS.sleep(measureFrom - System.nanoTime());
+            Metrics.getInstance().reset();
+            if (!executor.awaitTermination(options.warmupSeconds() + options.durationSeconds() + 60L,
+                    TimeUnit.SECONDS)) {
+                System.out.println("Some terminals did not finish in time");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        printReport(TimeUnit.NANOSECONDS.toMillis(Math.min(System.nanoTime(), end) - measureFrom) / 1000.0);
+    }
+
+    /**
+     * Returns the mix in the form it is given on the command line.
+     *
+     * @return The mix, for example {@code "login:5,browse:50,order:35,topup:10"}.
+     */
+    private String describeMix() {
+        StringBuilder mix = new StringBuilder();
+        options.mix().forEach((action, weight) -> mix.append(mix.isEmpty() ? "" : ",")
+                .append(action.getKey()).append(':').append(weight));
+        return mix.toString();
+    }
+
+    /**
+     * Creates a customer for each load test email that is not registered yet.
+     * New customers start at the credit cap.
+     */
+    private void createCustomers() {
+        for (int i = 0; i < options.customers(); i++) {
+            String email = EMAIL_FORMAT.formatted(i);
+            if (customerService.getCustomerByEmail(email) != null) {
+                continue;
+            }
+            customerService.createCustomer(new CreateCustomerDto.Builder()
+                    .setFirstName("Terminal")
+                    .setLastName("Customer " + i)
+                    .setEmail(email)
+                    .setPhone("555-555-5555")
+                    .setStreet(i + " Load Test Lane")
+                    .setCity("Springfield")
+                    .setState("IL")
+                    .setZip("62701")
+                    .setCreditLimit(CREDIT_CAP)
+                    .build());
+        }
+    }
+
+    /**
+     * Opens a ledger for each load test customer with the credit they have
+     * before the terminals start.
+     */
+    private void recordStartingCredit() {
+        for (int i = 0; i < options.customers(); i++) {
+            Customer customer = customerService.getCustomerByEmail(EMAIL_FORMAT.formatted(i));
+            if (customer != null) {
+                ledgers.put(customer.getCustomerId(), new Ledger(customer.getCreditLimit()));
+            }
+        }
+    }
+
+    /**
+     * Runs one terminal until the end of the test. With a rate set, the
+     * terminal's actions are spread evenly over time and staggered against the
+     * other terminals.
+     *
+     * @param terminal    The terminal number.
+     * @param start       The {@link System#nanoTime()} the test started.
+     * @param measureFrom The time the warm-up ends.
+     * @param end         The time the test ends.
+     */
+    private void runTerminal(int terminal, long start, long measureFrom, long end) {
+        Session session = new Session(EMAIL_FORMAT.formatted(terminal % options.customers()));
+        int[] cumulative = cumulativeWeights();
+        long interval = options.rate() > 0 ? (long) (options.terminals() * 1e9 / options.rate()) : 0;
+        long due = start + interval * terminal / options.terminals();
+
+        while (!Thread.currentThread().isInterrupted()) {
+            long began;
+            if (interval > 0) {
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                began = due;
+                due += interval;
+            } else {
+                began = System.nanoTime();
+            }
+            if (began >= end) {
+                return;
+            }
+
+            TerminalAction action = session.customer == null ? TerminalAction.LOGIN : pick(cumulative);
+            boolean measured = began >= measureFrom;
+            try {
+                perform(action, session);
+            } catch (InsufficientCreditException e) {
+                if (measured) {
+                    rejected.get(action).increment();
+                }
+            } catch (RuntimeException e) {
+                if (measured) {
+                    recordError(action, e);
+                }
+            }
+            if (measured) {
+                latencies.get(action).record(System.nanoTime() - began, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Returns the running totals of the action weights, in
+     * {@link TerminalAction} order.
+     *
+     * @return The cumulative weights.
+     */
+    private int[] cumulativeWeights() {
+        TerminalAction[] actions = TerminalAction.values();
+        int[] cumulative = new int[actions.length];
+        int total = 0;
+        for (int i = 0; i < actions.length; i++) {
+            total += options.mix().getOrDefault(actions[i], 0);
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    /**
+     * Picks a random action according to the mix.
+     *
+     * @param cumulative The cumulative weights.
+     * @return The action.
+     */
+    private static TerminalAction pick(int[] cumulative) {
+        int roll = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+        int i = 0;
+        while (roll >= cumulative[i]) {
+            i++;
+        }
+        return TerminalAction.values()[i];
+    }
+
+    /**
+     * Performs one action through the services.
+     *
+     * @param action  The action.
+     * @param session The terminal's state.
+     * @throws InsufficientCreditException If an order is rejected.
+     * @throws IllegalStateException       If a service reports a failure by
+     *                                     returning {@code null}.
+     */
+    private void perform(TerminalAction action, Session session) {
+        switch (action) {
+            case LOGIN -> login(session);
+            case BROWSE -> browse();
+            case ORDER -> order(session);
+            case TOP_UP -> topUp(session);
+        }
+    }
+
+    /**
+     * Looks up the terminal's customer by email, as logging in does. The
+     * customer is kept in the session rather than the {@link stores.AuthStore},
+     * which holds the single customer of the desktop application.
+     *
+     * @param session The terminal's state.
+     */
+    private void login(Session session) {
+        Customer customer = customerService.getCustomerByEmail(session.email);
+        if (customer == null) {
+            throw new IllegalStateException("Login failed");
+        }
+        session.customer = customer;
+    }
+
+    /**
+     * Loads the first page of the coffee menu and its size, as the menu table
+     * does.
+     */
+    private void browse() {
+        coffeeService.getCoffeeCount();
+        coffeeService.getCoffeesPage(SortDirection.ASCENDING.getFirstKey(), AppConfig.TABLE_PAGE_SIZE,
+                SortDirection.ASCENDING);
+    }
+
+    /**
+     * Loads the menu and places an order for one to three of a random coffee,
+     * priced the way the order view prices it.
+     *
+     * @param session The terminal's state.
+     * @throws InsufficientCreditException If the customer's credit does not
+     *                                     cover the order.
+     */
+    private void order(Session session) {
+        List<Coffee> menu = coffeeService.getAllCoffees();
+        if (menu.isEmpty()) {
+            throw new IllegalStateException("No coffee available to order");
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Coffee coffee = menu.get(random.nextInt(menu.size()));
+        int quantity = 1 + random.nextInt(3);
+        double subtotal = coffee.getPrice() * quantity;
+        double total = Math.round((subtotal + subtotal * AppController.TAX_RATE) * 100) / 100.0;
+
+        orderService.createOrder(new CreateOrderDto.Builder()
+                .setCoffeeId(coffee.getCoffeeId())
+                .setCustomerId(session.customer.getCustomerId())
+                .setQtyOrdered(quantity)
+                .setTotal(total)
+                .build());
+        ledgers.get(session.customer.getCustomerId()).debitedCents.add(toCents(total));
+    }
+
+    /**
+     * Reads the customer and adds enough whole dollars to raise their credit to
+     * the cap, as the Add Credit dialog does. Nothing is written if less than a
+     * dollar can be added. The credit is added to the stored balance, so an
+     * order placed by another terminal in between is kept; if another top-up
+     * got there first and the cap would be exceeded, the top-up fails.
+     *
+     * @param session The terminal's state.
+     * @throws IllegalStateException If the customer is missing or the credit
+     *                               could not be added.
+     */
+    private void topUp(Session session) {
+        int customerId = session.customer.getCustomerId();
+        Customer current = customerService.getCustomerById(customerId);
+        if (current == null) {
+            throw new IllegalStateException("Customer not found");
+        }
+        double amount = Math.floor(CREDIT_CAP - current.getCreditLimit());
+        if (amount < 1) {
+            return;
+        }
+        if (customerService.addCredit(customerId, amount) == null) {
+            throw new IllegalStateException("Top-up would exceed the credit cap");
+        }
+        ledgers.get(customerId).toppedUpCents.add(toCents(amount));
+    }
+
+    /**
+     * Converts an amount of dollars to whole cents.
+     *
+     * @param dollars The amount.
+     * @return The amount in cents.
+     */
+    private static long toCents(double dollars) {
+        return Math.round(dollars * 100);
+    }
+
+    /**
+     * Counts a failed action under the most specific cause found. Database
+     * errors are grouped by SQL state, with lock timeouts and deadlocks named.
+     *
+     * @param action The action that failed.
+     * @param error  The error.
+     */
+    private void recordError(TerminalAction action, Throwable error) {
+        failed.get(action).increment();
+        String cause = error.getClass().getSimpleName() + ": " + error.getMessage();
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql) {
+                cause = switch (String.valueOf(sql.getSQLState())) {
+                    case "40XL1" -> "Lock timeout";
+                    case "40001" -> "Deadlock";
+                    default -> "SQL state " + sql.getSQLState() + ": " + sql.getMessage();
+                };
+                break;
+            }
+        }
+        errors.computeIfAbsent(action.getKey() + " - " + cause, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Prints the throughput and latency of each action and the errors seen.
+     *
+     * @param seconds The measured run time.
+     */
+    private void printReport(double seconds) {
+        System.out.println();
+        System.out.printf("%-8s %9s %10s %10s %10s %10s %10s %9s %7s%n",
+                "Action", "Count", "Ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "Rejected", "Errors");
+
+        LatencyHistogram all = new LatencyHistogram();
+        long allRejected = 0;
+        long allFailed = 0;
+        for (TerminalAction action : TerminalAction.values()) {
+            LatencyHistogram histogram = latencies.get(action);
+            all.add(histogram);
+            allRejected += rejected.get(action).sum();
+            allFailed += failed.get(action).sum();
+            printRow(action.getKey(), histogram, rejected.get(action).sum(), failed.get(action).sum(), seconds);
+        }
+        printRow("total", all, allRejected, allFailed, seconds);
+
+        if (!errors.isEmpty()) {
+            System.out.println();
+            System.out.println("Errors:");
+            new TreeMap<>(errors).forEach((cause, count) -> System.out.printf("  %6d  %s%n", count.sum(), cause));
+        }
+
+        System.out.println();
+        printCreditCheck();
+
+        System.out.println();
+        System.out.print(Metrics.getInstance().report());
+    }
+
+    /**
+     * Compares each customer's stored credit with their starting credit plus
+     * the top-ups minus the orders recorded in their ledger, and prints the
+     * customers whose credit differs.
+     */
+    private void printCreditCheck() {
+        int drifted = 0;
+        for (Map.Entry<Integer, Ledger> entry : new TreeMap<>(ledgers).entrySet()) {
+            Customer customer = customerService.getCustomerById(entry.getKey());
+            Ledger ledger = entry.getValue();
+            long actualCents = customer == null ? 0 : toCents(customer.getCreditLimit());
+            if (customer == null || actualCents != ledger.expectedCents()) {
+                if (drifted++ == 0) {
+                    System.out.println("Credit drift:");
+                }
+                System.out.printf("  customer %d: expected $%.2f (start $%.2f + top-ups $%.2f - orders $%.2f),"
+                        + " found %s%n",
+                        entry.getKey(), ledger.expectedCents() / 100.0, ledger.startCents / 100.0,
+                        ledger.toppedUpCents.sum() / 100.0, ledger.debitedCents.sum() / 100.0,
+                        customer == null ? "no customer" : String.format("$%.2f", actualCents / 100.0));
+            }
+        }
+        if (drifted == 0) {
+            System.out.printf("Credit check: all %d customers match their orders and top-ups%n", ledgers.size());
+        }
+    }
+
+    /**
+     * Prints one row of the report.
+     *
+     * @param name      The action name.
+     * @param histogram The action's latencies.
+     * @param rejected  The number of orders rejected for insufficient credit.
+     * @param failed    The number of failed actions.
+     * @param seconds   The measured run time.
+     */
+    private static void printRow(String name, LatencyHistogram histogram, long rejected, long failed,
+            double seconds) {
+        System.out.printf("%-8s %9d %10.1f %10.2f %10.2f %10.2f %10.2f %9d %7d%n",
+                name,
+                histogram.getCount(),
+                seconds > 0 ? histogram.getCount() / seconds : 0.0,
+                histogram.getPercentileMicros(50) / 1000.0,
+                histogram.getPercentileMicros(99) / 1000.0,
+                histogram.getPercentileMicros(99.9) / 1000.0,
+                histogram.getMaxMicros() / 1000.0,
+                rejected,
+                failed);
+    }
+}
@@ -1,14 +1,26 @@
 package controllers;
 
+import config.AppConfig;
 import enums.ViewType;
+import utils.AsyncLoader;
+import utils.Log;
 import views.*;
 
 import java.awt.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Manages the display of different views within the application.
  * It keeps track of the current and previous views, disposes of old views,
  * and creates and displays new ones based on the requested {@link ViewType}.
+ * <p>
+ * Views whose type is {@linkplain ViewType#isReusable() reusable} are hidden
+ * instead of disposed when another view is shown, and up to
+ * {@link AppConfig#VIEW_CACHE_SIZE} of them are kept. Showing a kept view
+ * again calls its {@link SuperView#refresh()} rather than building its layout,
+ * tables and listeners from scratch. The least recently shown view is disposed
+ * once the cache is full.
  *
  * @author Ian Frye
  * @version 1.0
@@ -19,6 +31,16 @@ public class ViewManager {
     private ViewType previousView;
     AppController controller;
     private Point previousLocation = null;
+    private final Map<ViewType, SuperView> cachedViews = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ViewType, SuperView> eldest) {
+            if (size() > AppConfig.VIEW_CACHE_SIZE) {
+                closeWindow(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
 
     /**
      * Constructs a new {@code ViewManager} associated with the given application
@@ -36,14 +58,15 @@ public class ViewManager {
      * same as the current view, a warning is logged and no action is taken.
      * Otherwise,
      * the previous view is recorded, the current view is updated, any existing
-     * {@link SuperView} windows are disposed of, and the new view is displayed.
+     * {@link SuperView} windows are hidden or disposed of, and the new view is
+     * displayed.
      *
      * @param view The {@code ViewType} to display.
      */
     public void setDisplay(ViewType view) {
 
         if (this.currentView == view) {
-            System.out.println("Warning: Attempting to set the same view as current view: " + view);
+            Log.warn("Attempting to set the same view as current view: {}", view);
             return;
         }
 
@@ -73,38 +96,73 @@ public class ViewManager {
     }
 
     /**
-     * Refreshes the currently displayed view by disposing of any existing
-     * {@link SuperView} windows and then displaying the current view again.
+     * Refreshes the currently displayed view. A cached view is refreshed in
+     * place; any other view is disposed of and built again.
      */
     public void refreshCurrentView() {
+        SuperView cached = cachedViews.get(currentView);
+        if (cached != null && cached.isVisible()) {
+            cached.refresh();
+            return;
+        }
         disposeWindows();
         displayNewView();
     }
 
     /**
-     * Disposes of all currently open {@link SuperView} windows. This is typically
-     * called before displaying a new view to ensure only one main view is visible.
+     * Hides the cached {@link SuperView} windows and disposes of all other ones.
+     * This is typically called before displaying a new view to ensure only one
+     * main view is visible. Background loads started by a window are cancelled
+     * before it is hidden or disposed, so their results are never applied to a
+     * view that is not showing; a cached view's {@link SuperView#refresh()}
+     * loads its data again when it is shown next.
      */
     private void disposeWindows() {
         if (currentView != null) {
             Window[] windows = Window.getWindows();
             for (Window window : windows) {
-                if (window instanceof SuperView) {
-                    previousLocation = window.getLocation();
-                    window.dispose();
+                if (window instanceof SuperView view) {
+                    if (view.isVisible()) {
+                        previousLocation = view.getLocation();
+                    }
+                    if (cachedViews.containsValue(view)) {
+                        AsyncLoader.cancel(view);
+                        view.setVisible(false);
+                    } else {
+                        closeWindow(view);
+                    }
                 }
             }
         }
     }
 
     /**
-     * Creates a new view based on the {@link #currentView} and makes it visible
-     * in the center of the screen. The view is packed to its preferred size before
-     * being displayed.
+     * Cancels a window's background loads and disposes of it.
+     *
+     * @param view The window to close.
+     */
+    private static void closeWindow(SuperView view) {
+        AsyncLoader.cancel(view);
+        view.dispose();
+    }
+
+    /**
+     * Displays the view for the {@link #currentView}. A cached view of that type
+     * is refreshed and shown again; otherwise a new view is created, packed to
+     * its preferred size and, if its type is reusable, cached. The view is
+     * placed where the previous one was, or in the center of the screen.
      */
     private void displayNewView() {
-        SuperView viewToDisplay = createView(this.currentView);
-        viewToDisplay.pack();
+        SuperView viewToDisplay = currentView.isReusable() ? cachedViews.get(currentView) : null;
+        if (viewToDisplay != null) {
+            viewToDisplay.refresh();
+        } else {
+            viewToDisplay = createView(this.currentView);
+            viewToDisplay.pack();
+            if (currentView.isReusable() && AppConfig.VIEW_CACHE_SIZE > 0) {
+                cachedViews.put(currentView, viewToDisplay);
+            }
+        }
 
         if (previousLocation != null) {
             viewToDisplay.setLocation(previousLocation);
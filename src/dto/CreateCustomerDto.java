@@ -1,5 +1,7 @@
 package dto;
 
+import entites.Customer;
+
 /**
  * A data transfer object (DTO) class for creating a new customer.
  * It contains the first name, last name, email, phone, street, city, state,
@@ -116,6 +118,21 @@ public class CreateCustomerDto {
         + creditLimit + "]";
   }
 
+  public Customer toCustomer(Integer customerId) {
+    return new Customer.Builder()
+        .setCustomerId(customerId)
+        .setFirstName(firstName)
+        .setLastName(lastName)
+        .setEmail(email)
+        .setPhone(phone)
+        .setStreet(street)
+        .setCity(city)
+        .setState(state)
+        .setZip(zip)
+        .setCreditLimit(creditLimit)
+        .build();
+  }
+
   public static class Builder {
     private String firstName;
     private String lastName;
@@ -0,0 +1,83 @@
+package dto;
+
+/**
+ * A data transfer object (DTO) class for representing one line of a customer's
+ * order history.
+ * It contains only what the history view shows: the order ID, the coffee name,
+ * the quantity ordered and the order total.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+
+public class OrderHistoryRow {
+  private final int orderId;
+  private final String coffeeName;
+  private final double qtyOrdered;
+  private final double total;
+
+  public OrderHistoryRow(int orderId, String coffeeName, double qtyOrdered, double total) {
+    this.orderId = orderId;
+    this.coffeeName = coffeeName;
+    this.qtyOrdered = qtyOrdered;
+    this.total = total;
+  }
+
+  public int getOrderId() {
+    return orderId;
+  }
+
+  public String getCoffeeName() {
+    return coffeeName;
+  }
+
+  public double getQtyOrdered() {
+    return qtyOrdered;
+  }
+
+  public double getTotal() {
+    return total;
+  }
+
+  @Override
+  public String toString() {
+    return "OrderHistoryRow{" +
+        "orderId=" + orderId +
+        ", coffeeName='" + coffeeName + '\'' +
+        ", qtyOrdered=" + qtyOrdered +
+        ", total=" + total +
+        '}';
+  }
+
+  public static class Builder {
+    private int orderId;
+    private String coffeeName;
+    private double qtyOrdered;
+    private double total;
+
+    public Builder setOrderId(int orderId) {
+      this.orderId = orderId;
+      return this;
+    }
+
+    public Builder setCoffeeName(String coffeeName) {
+      this.coffeeName = coffeeName;
+      return this;
+    }
+
+    public Builder setQtyOrdered(double qtyOrdered) {
+      this.qtyOrdered = qtyOrdered;
+      return this;
+    }
+
+    public Builder setTotal(double total) {
+      this.total = total;
+      return this;
+    }
+
+    public OrderHistoryRow build() {
+      return new OrderHistoryRow(orderId, coffeeName, qtyOrdered, total);
+    }
+  }
+}
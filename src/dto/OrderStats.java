@@ -0,0 +1,96 @@
+package dto;
+
+/**
+ * A data transfer object (DTO) class for representing summary statistics over
+ * all orders.
+ * It contains the order count and the sum, average, minimum and maximum of the
+ * order totals. When there are no orders, every value is zero.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+
+public class OrderStats {
+  private final int orderCount;
+  private final double totalRevenue;
+  private final double averageTotal;
+  private final double minTotal;
+  private final double maxTotal;
+
+  public OrderStats(int orderCount, double totalRevenue, double averageTotal, double minTotal, double maxTotal) {
+    this.orderCount = orderCount;
+    this.totalRevenue = totalRevenue;
+    this.averageTotal = averageTotal;
+    this.minTotal = minTotal;
+    this.maxTotal = maxTotal;
+  }
+
+  public int getOrderCount() {
+    return orderCount;
+  }
+
+  public double getTotalRevenue() {
+    return totalRevenue;
+  }
+
+  public double getAverageTotal() {
+    return averageTotal;
+  }
+
+  public double getMinTotal() {
+    return minTotal;
+  }
+
+  public double getMaxTotal() {
+    return maxTotal;
+  }
+
+  @Override
+  public String toString() {
+    return "OrderStats{" +
+        "orderCount=" + orderCount +
+        ", totalRevenue=" + totalRevenue +
+        ", averageTotal=" + averageTotal +
+        ", minTotal=" + minTotal +
+        ", maxTotal=" + maxTotal +
+        '}';
+  }
+
+  public static class Builder {
+    private int orderCount;
+    private double totalRevenue;
+    private double averageTotal;
+    private double minTotal;
+    private double maxTotal;
+
+    public Builder setOrderCount(int orderCount) {
+      this.orderCount = orderCount;
+      return this;
+    }
+
+    public Builder setTotalRevenue(double totalRevenue) {
+      this.totalRevenue = totalRevenue;
+      return this;
+    }
+
+    public Builder setAverageTotal(double averageTotal) {
+      this.averageTotal = averageTotal;
+      return this;
+    }
+
+    public Builder setMinTotal(double minTotal) {
+      this.minTotal = minTotal;
+      return this;
+    }
+
+    public Builder setMaxTotal(double maxTotal) {
+      this.maxTotal = maxTotal;
+      return this;
+    }
+
+    public OrderStats build() {
+      return new OrderStats(orderCount, totalRevenue, averageTotal, minTotal, maxTotal);
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package dto;
+
+/**
+ * A data transfer object (DTO) class for representing the result of placing
+ * an order.
+ * It contains the generated order ID and the customer's credit remaining
+ * after the order total was debited.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+
+public class PlacedOrderDto {
+  private final int orderId;
+  private final double remainingCredit;
+
+  public PlacedOrderDto(int orderId, double remainingCredit) {
+    this.orderId = orderId;
+    this.remainingCredit = remainingCredit;
+  }
+
+  public int getOrderId() {
+    return orderId;
+  }
+
+  public double getRemainingCredit() {
+    return remainingCredit;
+  }
+
+  @Override
+  public String toString() {
+    return "PlacedOrderDto{" +
+        "orderId=" + orderId +
+        ", remainingCredit=" + remainingCredit +
+        '}';
+  }
+
+  public static class Builder {
+    private int orderId;
+    private double remainingCredit;
+
+    public Builder setOrderId(int orderId) {
+      this.orderId = orderId;
+      return this;
+    }
+
+    public Builder setRemainingCredit(double remainingCredit) {
+      this.remainingCredit = remainingCredit;
+      return this;
+    }
+
+    public PlacedOrderDto build() {
+      return new PlacedOrderDto(orderId, remainingCredit);
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package enums;
+
+/**
+ * An enum representing how the embedded database was left when the
+ * application last stopped, which decides how much work opening it takes.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public enum DatabaseStartup {
+
+    NEW("created"),
+    CLEAN("opened after a clean shutdown"),
+    RECOVERED("recovered after an unclean shutdown"),
+    UNKNOWN("opened");
+
+    private final String description;
+
+    DatabaseStartup(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Returns a short description for the startup log message.
+     *
+     * @return The description, for example {@code "opened after a clean
+     *         shutdown"}.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,44 @@
+package enums;
+
+/**
+ * An enum representing what happens to a customer's or coffee's orders when
+ * the customer or coffee is deleted. Each rule knows its SQL clause and the
+ * code Derby stores for it in {@code SYS.SYSFOREIGNKEYS}, so the schema can be
+ * checked against the configured rule.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public enum DeleteRule {
+
+    CASCADE("CASCADE", "C"),
+    RESTRICT("RESTRICT", "S");
+
+    private final String sql;
+    private final String catalogCode;
+
+    DeleteRule(String sql, String catalogCode) {
+        this.sql = sql;
+        this.catalogCode = catalogCode;
+    }
+
+    /**
+     * Returns the SQL keyword for an {@code ON DELETE} clause.
+     *
+     * @return {@code "CASCADE"} or {@code "RESTRICT"}.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Returns the code Derby stores in {@code SYS.SYSFOREIGNKEYS.DELETERULE} for
+     * this rule.
+     *
+     * @return {@code "C"} for cascade, {@code "S"} for restrict.
+     */
+    public String getCatalogCode() {
+        return catalogCode;
+    }
+}
@@ -0,0 +1,30 @@
+package enums;
+
+/**
+ * An enum representing the severity of a log message, from least to most
+ * severe. A message is written when its level is at or above the configured
+ * level.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public enum LogLevel {
+
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    /**
+     * Checks whether a message at this level is written when the log is set to
+     * the given level.
+     *
+     * @param threshold The configured level.
+     * @return {@code true} if this level is at or above the threshold.
+     */
+    public boolean isAtLeast(LogLevel threshold) {
+        return this != OFF && ordinal() >= threshold.ordinal();
+    }
+}
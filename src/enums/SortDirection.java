@@ -0,0 +1,56 @@
+package enums;
+
+/**
+ * An enum representing the order in which a page of rows is read by primary
+ * key. Each direction knows the SQL it needs for a keyset query, so
+ * repositories can page with {@code WHERE ID > ?} or {@code WHERE ID < ?}
+ * instead of an {@code OFFSET} that scans every skipped row.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public enum SortDirection {
+
+    ASCENDING(">", "ASC", 0),
+    DESCENDING("<", "DESC", Integer.MAX_VALUE);
+
+    private final String keyComparison;
+    private final String sql;
+    private final int firstKey;
+
+    SortDirection(String keyComparison, String sql, int firstKey) {
+        this.keyComparison = keyComparison;
+        this.sql = sql;
+        this.firstKey = firstKey;
+    }
+
+    /**
+     * Returns the comparison operator that selects the keys after a given key
+     * in this direction.
+     *
+     * @return {@code ">"} for ascending, {@code "<"} for descending.
+     */
+    public String getKeyComparison() {
+        return keyComparison;
+    }
+
+    /**
+     * Returns the SQL keyword for an {@code ORDER BY} in this direction.
+     *
+     * @return {@code "ASC"} or {@code "DESC"}.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Returns the key to pass as {@code afterId} to read the first page. Identity
+     * keys start at 1, so every key comes after it in this direction.
+     *
+     * @return {@code 0} for ascending, {@link Integer#MAX_VALUE} for descending.
+     */
+    public int getFirstKey() {
+        return firstKey;
+    }
+}
@@ -0,0 +1,61 @@
+package enums;
+
+/**
+ * An enum representing what a simulated terminal does in one step of the load
+ * generator. Each action has a key used on the command line and a default
+ * weight in the mix of actions.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public enum TerminalAction {
+
+    LOGIN("login", 5),
+    BROWSE("browse", 50),
+    ORDER("order", 35),
+    TOP_UP("topup", 10);
+
+    private final String key;
+    private final int defaultWeight;
+
+    TerminalAction(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * Returns the name of the action in a {@code mix=} option.
+     *
+     * @return The key, for example {@code "topup"}.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns how often the action is chosen when no mix is given, relative to
+     * the other actions.
+     *
+     * @return The default weight.
+     */
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * Returns the action with the given key.
+     *
+     * @param key The key, in any case.
+     * @return The action.
+     * @throws IllegalArgumentException If no action has that key.
+     */
+    public static TerminalAction fromKey(String key) {
+        for (TerminalAction action : values()) {
+            if (action.key.equalsIgnoreCase(key.trim())) {
+                return action;
+            }
+        }
+        throw new IllegalArgumentException("Unknown terminal action: " + key);
+    }
+}
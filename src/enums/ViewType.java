@@ -1,7 +1,11 @@
 package enums;
 
 /**
- * An enum representing the different views in the application.
+ * An enum representing the different views in the application. Each view type
+ * says whether its window may be kept and shown again instead of being rebuilt.
+ * Reusable views reload their data in {@code refresh()}; the others are bound
+ * to a selection made before they open, such as the coffee being edited, and
+ * are always rebuilt.
  * 
  * @author Ian Frye
  * @version 1.0
@@ -10,16 +14,31 @@ package enums;
 
 public enum ViewType {
 
-    COFFEE_MENU_VIEW,
-    CREATE_ACCOUNT_VIEW,
-    CREATE_COFFEE_VIEW,
-    CREATE_ORDER_VIEW,
-    ORDER_HISTORY_VIEW,
-    LOGIN_VIEW,
-    ORDER_DETAIL_VIEW,
-    UPDATE_ACCOUNT_VIEW,
-    UPDATE_COFFEE_VIEW,
-    CUSTOMER_DETAIL_VIEW,
-    VIEW_ALL_CUSTOMERS_VIEW,
-    VIEW_ALL_ORDERS_VIEW,
+    COFFEE_MENU_VIEW(true),
+    CREATE_ACCOUNT_VIEW(false),
+    CREATE_COFFEE_VIEW(false),
+    CREATE_ORDER_VIEW(true),
+    ORDER_HISTORY_VIEW(false),
+    LOGIN_VIEW(true),
+    ORDER_DETAIL_VIEW(false),
+    UPDATE_ACCOUNT_VIEW(false),
+    UPDATE_COFFEE_VIEW(false),
+    CUSTOMER_DETAIL_VIEW(false),
+    VIEW_ALL_CUSTOMERS_VIEW(true),
+    VIEW_ALL_ORDERS_VIEW(true);
+
+    private final boolean reusable;
+
+    ViewType(boolean reusable) {
+        this.reusable = reusable;
+    }
+
+    /**
+     * Returns whether a window of this type may be cached and shown again.
+     *
+     * @return {@code true} if the view is refreshed rather than rebuilt.
+     */
+    public boolean isReusable() {
+        return reusable;
+    }
 }
@@ -0,0 +1,35 @@
+package exceptions;
+
+/**
+ * Thrown when an order cannot be placed because its total exceeds the
+ * customer's available credit. The credit check and the debit happen in the
+ * same database statement, so this also covers the case where another order
+ * spent the credit first.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class InsufficientCreditException extends RuntimeException {
+    private final double availableCredit;
+
+    /**
+     * Constructs a new {@code InsufficientCreditException}.
+     *
+     * @param availableCredit The customer's credit at the time of the order.
+     * @param orderTotal      The total of the rejected order.
+     */
+    public InsufficientCreditException(double availableCredit, double orderTotal) {
+        super(String.format("Order total of $%.2f exceeds available credit of $%.2f", orderTotal, availableCredit));
+        this.availableCredit = availableCredit;
+    }
+
+    /**
+     * Returns the customer's credit at the time of the rejected order.
+     *
+     * @return The available credit.
+     */
+    public double getAvailableCredit() {
+        return availableCredit;
+    }
+}
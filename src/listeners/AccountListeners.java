@@ -8,6 +8,7 @@ import enums.ViewType;
 import services.ValidatorService;
 import stores.AuthStore;
 import utils.DialogUtils;
+import utils.Log;
 import views.SuperView;
 
 import javax.swing.*;
@@ -126,7 +127,7 @@ public class AccountListeners {
                 // set display to coffee menu
                 appController.setDisplay(ViewType.COFFEE_MENU_VIEW);
             } catch (Exception e1) {
-                System.out.println(e1.getMessage());
+                Log.warn(e1.getMessage());
                 DialogUtils.showError(view, "Failed to create account.");
             }
         };
@@ -166,7 +167,7 @@ public class AccountListeners {
                 DialogUtils.showSuccess(view, "Account updated successfully");
                 appController.setDisplay(ViewType.COFFEE_MENU_VIEW);
             } catch (Exception e1) {
-                System.out.println(e1.getMessage());
+                Log.warn(e1.getMessage());
                 DialogUtils.showError(view, "Failed to update account.");
             }
         };
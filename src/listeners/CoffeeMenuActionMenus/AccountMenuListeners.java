@@ -79,14 +79,17 @@ public class AccountMenuListeners {
      * {@link DialogUtils#showConfirmation(java.awt.Component, String)}. If
      * confirmed,
      * it calls the customer service to delete the account and then navigates to the
-     * login view.
+     * login view. The logged-in user is read when the action is performed, so
+     * the listener stays correct on a view that is kept across logins.
      *
-     * @param customerId The ID of the customer to be deleted (should be the
-     *                   logged-in user's ID).
      * @return An {@code ActionListener} for deleting the account.
      */
-    public ActionListener getDeleteAccountActionListener(int customerId) {
+    public ActionListener getDeleteAccountActionListener() {
         return e -> {
+            if (authStore.get() == null) {
+                return;
+            }
+            int customerId = authStore.get().getCustomerId();
             selectedCustomerStore.set(authStore.get());
             boolean confirmation = DialogUtils.showConfirmation(
                     view,
@@ -1,11 +1,9 @@
 package listeners.CoffeeMenuActionMenus;
 
-import Interfaces.ICoffeeService;
-import Interfaces.ICustomerService;
-import Interfaces.IOrderService;
 import controllers.AppController;
 import enums.ViewType;
 import utils.DialogUtils;
+import utils.Log;
 import views.CoffeeMenuView;
 import views.SuperView;
 
@@ -27,25 +25,19 @@ import java.sql.SQLException;
 
 public class AdminMenuListeners {
     private final AppController controller;
-    private final ICustomerService customerService;
-    private final ICoffeeService coffeeService;
-    private final IOrderService orderService;
     private final CoffeeMenuView coffeeMenuView;
 
     /**
      * Constructs a new {@code AdminMenuListeners} with the specified application
      * controller.
-     * It retrieves instances of the customer, coffee, and order services from the
-     * controller.
+     * Database reset and populate actions go through the controller's
+     * {@link repositories.SchemaMigrator}.
      *
      * @param controller The application controller providing access to services and
      *                   navigation.
      */
     public AdminMenuListeners(AppController controller, CoffeeMenuView coffeeMenuView) {
         this.controller = controller;
-        this.customerService = controller.getCustomerService();
-        this.coffeeService = controller.getCoffeeService();
-        this.orderService = controller.getOrderService();
         this.coffeeMenuView = coffeeMenuView;
     }
 
@@ -101,8 +93,9 @@ public class AdminMenuListeners {
      */
     public ActionListener resetDatabaseListener(SuperView parent) {
         return e -> {
-            clearDatabase(parent);
-            populateDatabase(parent);
+            if (!clearDatabase(parent) || !populateDatabase(parent)) {
+                return;
+            }
             DialogUtils.showSuccess(parent, "Database populated successfully");
             coffeeMenuView.refreshTable();
             controller.setDisplay(ViewType.COFFEE_MENU_VIEW);
@@ -118,42 +111,46 @@ public class AdminMenuListeners {
      * @param parent The parent {@code SuperView} used for displaying the
      *               confirmation dialog
      *               and any error messages.
+     * @return {@code true} if the databases were cleared; {@code false} if the
+     *         user cancelled or an error occurred.
      */
-    private void clearDatabase(SuperView parent) {
+    private boolean clearDatabase(SuperView parent) {
         try {
             var confirm = DialogUtils.showConfirmation(parent,
                     "Are you sure you want to clear the databases?\nThis will delete all data from the tables. If you are currently logged in, your session will only be persisted until you logout.\nYou will need to recreate an account to continue using the application.");
 
             if (!confirm) {
-                return;
+                return false;
             }
-            orderService.resetDatabase();
-            customerService.resetDatabase();
-            coffeeService.resetDatabase();
+            controller.getSchemaMigrator().resetDatabase();
             coffeeMenuView.refreshTable();
+            return true;
         } catch (SQLException e) {
-            System.out.println(e.getMessage());
+            Log.warn(e.getMessage());
             DialogUtils.showError(parent, "Error resetting database");
-
+            return false;
         }
     }
 
     /**
-     * Populates the orders, customers, and coffees databases with initial data
-     * by calling the respective service methods. If an SQLException occurs during
+     * Populates the customers, coffees, and orders databases with initial data
+     * through the {@link repositories.SchemaMigrator}. Each table is seeded with one
+     * batched insert in a single transaction, and orders are seeded last since
+     * they reference customers and coffees. If an SQLException occurs during
      * the process, an error message is displayed.
      *
      * @param parent The parent {@code SuperView} used for displaying any error
      *               messages.
+     * @return {@code true} if every table was populated; {@code false} otherwise.
      */
-    private void populateDatabase(SuperView parent) {
+    private boolean populateDatabase(SuperView parent) {
         try {
-            orderService.populateDatabase();
-            customerService.populateDatabase();
-            coffeeService.populateDatabase();
-
+            controller.getSchemaMigrator().populateDatabase();
+            return true;
         } catch (SQLException e) {
+            Log.warn(e.getMessage());
             DialogUtils.showError(parent, "Error populating database");
+            return false;
         }
     }
 }
\ No newline at end of file
@@ -6,10 +6,12 @@ import entites.Coffee;
 import entites.Customer;
 import entites.Order;
 import enums.ViewType;
+import exceptions.InsufficientCreditException;
 import stores.AuthStore;
 import stores.OrderStore;
 import stores.SelectedCustomerStore;
 import utils.DialogUtils;
+import utils.Log;
 import views.CreateOrderView;
 
 import javax.swing.*;
@@ -88,6 +90,7 @@ public class CreateOrderViewListeners {
      * calculates the total order price, and creates a {@link CreateOrderDto}.
      * It checks if the logged-in customer has sufficient credit before attempting
      * to create the order using the order service. If the credit is insufficient,
+     * either in that check or when the order service debits it,
      * it calls {@link #handleInsufficientCredit(double)}. Upon successful order
      * creation, it stores the created order in the {@link OrderStore} and navigates
      * to the order detail view. If any error occurs during order placement, an
@@ -124,9 +127,12 @@ public class CreateOrderViewListeners {
             try {
 
                 Order createdOrder = appController.getOrderService().createOrder(order);
-                System.out.println("Created order: " + createdOrder);
+                Log.debug("Created order: {}", createdOrder);
                 OrderStore.getInstance().set(createdOrder);
                 appController.setDisplay(ViewType.ORDER_DETAIL_VIEW);
+            } catch (InsufficientCreditException ex) {
+                // Another order spent the credit after the check above
+                handleInsufficientCredit(ex.getAvailableCredit());
             } catch (Exception ex) {
                 DialogUtils.showError(view, "Error placing order: " + ex.getMessage());
             }
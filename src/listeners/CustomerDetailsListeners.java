@@ -8,6 +8,7 @@ import entites.Customer;
 import enums.ViewType;
 import stores.AuthStore;
 import utils.DialogUtils;
+import utils.Log;
 import views.SuperView;
 
 /**
@@ -71,8 +72,8 @@ public class CustomerDetailsListeners {
         String message = "";
         // check if account being deleted is current account
         Customer currentCustomer = AuthStore.getInstance().get();
-        System.out.println("currentCustomer: " + currentCustomer.getCustomerId());
-        System.out.println("customerId: " + customerId);
+        Log.debug("currentCustomer: {}", currentCustomer.getCustomerId());
+        Log.debug("customerId: {}", customerId);
         if (Objects.equals(customerId, currentCustomer.getCustomerId())) {
           message = "You are trying to delete your own account.\nPlease note that this action is irreversible.\nAfter deletion, your current session end and you will not be able to login with this account again";
         } else {
@@ -4,6 +4,7 @@ import controllers.AppController;
 import enums.ViewType;
 import services.ValidatorService;
 import utils.DialogUtils;
+import utils.Log;
 import views.SuperView;
 
 import javax.swing.*;
@@ -79,7 +80,7 @@ public class LoginViewListeners {
                 appController.getCustomerService().login(email);
                 appController.setDisplay(ViewType.COFFEE_MENU_VIEW);
             } catch (Exception e1) {
-                System.out.println(e1.getMessage());
+                Log.warn(e1.getMessage());
                 DialogUtils.showError(view, e1.getMessage());
             }
         };
@@ -0,0 +1,318 @@
+package repositories;
+
+import Interfaces.ICoffeeRepository;
+import dto.CreateCoffeeDto;
+import entites.Coffee;
+import enums.SortDirection;
+import utils.CacheStats;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * A read-through cache in front of another {@link ICoffeeRepository}. The menu
+ * is small and rarely changes, so the first read loads every coffee into an
+ * immutable snapshot and every later read, including the table paging queries
+ * and lookups by ID, is answered from it without a database round trip.
+ * <p>
+ * Every write goes to the wrapped repository and then discards the snapshot,
+ * so the next read loads the menu again. A load that overlaps a write is not
+ * kept, which means a read never caches data older than the latest write. The
+ * cached {@link Coffee} objects are shared and must not be modified.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class CachingCoffeeRepository implements ICoffeeRepository {
+    private final ICoffeeRepository delegate;
+    private final CacheStats stats = new CacheStats("Coffee menu");
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /**
+     * An immutable copy of the menu, in ID order, with an index by ID.
+     *
+     * @param coffees The coffees, ordered by ID.
+     * @param byId    The same coffees, keyed by ID.
+     */
+    private record Snapshot(List<Coffee> coffees, Map<Integer, Coffee> byId) {
+        static Snapshot of(List<Coffee> coffees) {
+            Map<Integer, Coffee> byId = new HashMap<>();
+            for (Coffee coffee : coffees) {
+                byId.put(coffee.getCoffeeId(), coffee);
+            }
+            return new Snapshot(List.copyOf(coffees), Collections.unmodifiableMap(byId));
+        }
+    }
+
+    /**
+     * Constructs a new {@code CachingCoffeeRepository}. Nothing is loaded until
+     * the first read.
+     *
+     * @param delegate The repository the menu is read from and written to.
+     */
+    public CachingCoffeeRepository(ICoffeeRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the hit and miss counts of the menu cache.
+     *
+     * @return The cache statistics.
+     */
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Discards the cached menu so the next read loads it from the database.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+        stats.recordInvalidation();
+    }
+
+    /**
+     * Returns the cached menu, loading it first if there is none. Only one
+     * thread loads at a time; the others wait for it and use its result.
+     *
+     * @return The current menu snapshot.
+     */
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            stats.recordHit();
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (current != null) {
+                stats.recordHit();
+                return current;
+            }
+            stats.recordMiss();
+            long loadedAt = generation.get();
+            Snapshot loaded = Snapshot.of(delegate.findAll());
+            // Keep the result only if no write happened while it was loading.
+            if (generation.get() == loadedAt) {
+                snapshot = loaded;
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * Returns the position of the first coffee whose ID is greater than the
+     * given ID.
+     *
+     * @param coffees The coffees, ordered by ID.
+     * @param id      The ID to search past.
+     * @return The position, or {@code coffees.size()} if every ID is lower.
+     */
+    private static int indexAfter(List<Coffee> coffees, int id) {
+        int low = 0;
+        int high = coffees.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (coffees.get(mid).getCoffeeId() <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns every coffee from the cached menu, in ID order.
+     *
+     * @return An unmodifiable {@code List} of all {@link Coffee} entities.
+     */
+    @Override
+    public List<Coffee> findAll() {
+        return snapshot().coffees();
+    }
+
+    /**
+     * Streams every coffee from the cached menu, in ID order. The fetch size is
+     * ignored since no query is run.
+     *
+     * @param fetchSize Ignored.
+     * @return A stream of all coffees.
+     */
+    @Override
+    public Stream<Coffee> streamAll(int fetchSize) {
+        return snapshot().coffees().stream();
+    }
+
+    /**
+     * Returns one page of coffees from the cached menu following the given ID.
+     *
+     * @param afterId The ID of the last coffee on the previous page, or
+     *                {@link SortDirection#getFirstKey()} for the first page.
+     * @param limit   The maximum number of coffees to return.
+     * @param sort    The direction to read the IDs in.
+     * @return An unmodifiable {@code List} of at most {@code limit} coffees.
+     */
+    @Override
+    public List<Coffee> findPage(int afterId, int limit, SortDirection sort) {
+        List<Coffee> coffees = snapshot().coffees();
+        if (sort == SortDirection.ASCENDING) {
+            int from = indexAfter(coffees, afterId);
+            return coffees.subList(from, Math.min(from + limit, coffees.size()));
+        }
+
+        // The coffees with an ID below afterId, highest first.
+        int end = indexAfter(coffees, afterId - 1);
+        return coffees.subList(Math.max(end - limit, 0), end).reversed();
+    }
+
+    /**
+     * Returns the number of coffees on the cached menu.
+     *
+     * @return The number of coffees.
+     */
+    @Override
+    public int count() {
+        return snapshot().coffees().size();
+    }
+
+    /**
+     * Returns the ID of the coffee at a position on the cached menu.
+     *
+     * @param offset The zero-based position of the coffee.
+     * @param sort   The direction the IDs are ordered in.
+     * @return The ID at that position, or {@code -1} if there is no coffee there.
+     */
+    @Override
+    public int findIdAt(int offset, SortDirection sort) {
+        List<Coffee> coffees = snapshot().coffees();
+        if (offset < 0 || offset >= coffees.size()) {
+            return -1;
+        }
+        int index = sort == SortDirection.ASCENDING ? offset : coffees.size() - 1 - offset;
+        return coffees.get(index).getCoffeeId();
+    }
+
+    /**
+     * Returns a coffee from the cached menu.
+     *
+     * @param id The ID of the coffee.
+     * @return The {@link Coffee} with that ID, or {@code null} if there is none.
+     */
+    @Override
+    public Coffee findById(int id) {
+        return snapshot().byId().get(id);
+    }
+
+    /**
+     * Saves a new coffee and discards the cached menu.
+     *
+     * @param obj The coffee to save.
+     * @return The saved {@link Coffee}, or {@code null} if the save fails.
+     */
+    @Override
+    public Coffee save(CreateCoffeeDto obj) {
+        try {
+            return delegate.save(obj);
+        } finally {
+            invalidate();
+        }
+    }
+
+    /**
+     * Inserts all the given coffees and discards the cached menu.
+     *
+     * @param objs The coffees to insert.
+     * @return The number of coffees inserted.
+     * @throws SQLException If the insert fails.
+     */
+    @Override
+    public int saveAll(List<CreateCoffeeDto> objs) throws SQLException {
+        try {
+            return delegate.saveAll(objs);
+        } finally {
+            invalidate();
+        }
+    }
+
+    /**
+     * Updates a coffee and discards the cached menu.
+     *
+     * @param obj The coffee to update.
+     * @return The updated {@link Coffee}, or {@code null} if the update fails.
+     */
+    @Override
+    public Coffee update(CreateCoffeeDto obj) {
+        try {
+            return delegate.update(obj);
+        } finally {
+            invalidate();
+        }
+    }
+
+    /**
+     * Deletes a coffee and discards the cached menu.
+     *
+     * @param id The ID of the coffee to delete.
+     * @return {@code true} if the deletion was successful.
+     */
+    @Override
+    public boolean deleteById(int id) {
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            invalidate();
+        }
+    }
+
+    /**
+     * Drops the 'COFFEE' table and discards the cached menu.
+     *
+     * @throws SQLException If a database error occurs.
+     */
+    @Override
+    public void dropTable() throws SQLException {
+        try {
+            delegate.dropTable();
+        } finally {
+            invalidate();
+        }
+    }
+
+    /**
+     * Creates the 'COFFEE' table and discards the cached menu.
+     *
+     * @throws SQLException If a database error occurs.
+     */
+    @Override
+    public void createTable() throws SQLException {
+        try {
+            delegate.createTable();
+        } finally {
+            invalidate();
+        }
+    }
+
+    /**
+     * Seeds the 'COFFEE' table and discards the cached menu.
+     *
+     * @throws SQLException If the coffees cannot be inserted.
+     */
+    @Override
+    public void populateDatabase() throws SQLException {
+        try {
+            delegate.populateDatabase();
+        } finally {
+            invalidate();
+        }
+    }
+}
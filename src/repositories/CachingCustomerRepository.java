@@ -0,0 +1,421 @@
+package repositories;
+
+import Interfaces.ICustomerRepository;
+import config.AppConfig;
+import dto.CreateCustomerDto;
+import dto.UpdateCustomerDto;
+import entites.Customer;
+import enums.SortDirection;
+import utils.CacheStats;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A bounded cache of single customers in front of another
+ * {@link ICustomerRepository}. Customers read by ID or by email are kept, so
+ * the logged-in customer and regulars are served from memory on repeated
+ * lookups. The cache holds at most {@link AppConfig#CUSTOMER_CACHE_CAPACITY}
+ * customers, dropping the least recently used first, and an entry older than
+ * {@link AppConfig#CUSTOMER_CACHE_TTL_SECONDS} is read again.
+ * <p>
+ * Each cached customer is indexed by ID, and by normalized email once it has
+ * been found by that email. A customer read by ID is not added to the email
+ * index: older rows may share an email with the customer an email lookup
+ * actually returns, and must not take that customer's place. Writes go to
+ * the wrapped repository and then drop the customers they touch, and a read
+ * that overlaps a write is not cached. Lists, pages and counts are not cached
+ * and always go to the wrapped repository. The cached {@link Customer} objects
+ * are shared and must not be modified.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class CachingCustomerRepository implements ICustomerRepository {
+    private final ICustomerRepository delegate;
+    private final long ttlNanos;
+    private final CacheStats stats = new CacheStats("Customer");
+    private final Map<Integer, Entry> byId;
+    private final Map<String, Integer> byEmail = new HashMap<>();
+    private long generation;
+
+    /**
+     * A cached customer and the time it was read.
+     *
+     * @param customer The customer.
+     * @param loadedAt The {@link System#nanoTime()} of the read.
+     */
+    private record Entry(Customer customer, long loadedAt) {
+    }
+
+    /**
+     * Constructs a new {@code CachingCustomerRepository} with the capacity and
+     * time to live from {@link AppConfig}.
+     *
+     * @param delegate The repository customers are read from and written to.
+     */
+    public CachingCustomerRepository(ICustomerRepository delegate) {
+        this(delegate, AppConfig.CUSTOMER_CACHE_CAPACITY, AppConfig.CUSTOMER_CACHE_TTL_SECONDS);
+    }
+
+    /**
+     * Constructs a new {@code CachingCustomerRepository}.
+     *
+     * @param delegate   The repository customers are read from and written to.
+     * @param capacity   The maximum number of customers kept.
+     * @param ttlSeconds How long a customer is served from the cache before it
+     *                   is read again.
+     */
+    public CachingCustomerRepository(ICustomerRepository delegate, int capacity, long ttlSeconds) {
+        this.delegate = delegate;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.byId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                byEmail.remove(emailKey(eldest.getValue().customer()), eldest.getKey());
+                stats.recordEviction();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts of the customer cache.
+     *
+     * @return The cache statistics.
+     */
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Returns the number of customers currently cached.
+     *
+     * @return The number of cached customers.
+     */
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    /**
+     * Returns the key a customer is indexed by in the email index.
+     *
+     * @param customer The customer.
+     * @return The customer's normalized email.
+     */
+    private static String emailKey(Customer customer) {
+        return CustomerRepository.normalizeEmail(customer.getEmail());
+    }
+
+    /**
+     * Returns a cached customer if it is present and has not expired. Expired
+     * entries are dropped.
+     *
+     * @param id The customer's ID, or {@code null} for a miss.
+     * @return The cached customer, or {@code null} on a miss.
+     */
+    private synchronized Customer lookup(Integer id) {
+        Entry entry = id == null ? null : byId.get(id);
+        if (entry != null && System.nanoTime() - entry.loadedAt() > ttlNanos) {
+            remove(id);
+            stats.recordEviction();
+            entry = null;
+        }
+        if (entry == null) {
+            stats.recordMiss();
+            return null;
+        }
+        stats.recordHit();
+        return entry.customer();
+    }
+
+    /**
+     * Caches a customer that was read from the wrapped repository, unless a
+     * write happened since the read started.
+     *
+     * @param customer The customer read, or {@code null} if none was found.
+     * @param readAt   The write generation when the read started.
+     * @param email    The normalized email the customer was found by, or
+     *                 {@code null} if it was not read by email and must only be
+     *                 indexed by ID.
+     */
+    private synchronized void store(Customer customer, long readAt, String email) {
+        if (customer == null || generation != readAt) {
+            return;
+        }
+        remove(customer.getCustomerId());
+        byId.put(customer.getCustomerId(), new Entry(customer, System.nanoTime()));
+        if (email != null) {
+            byEmail.put(email, customer.getCustomerId());
+        }
+    }
+
+    /**
+     * Removes a customer from both indexes. The email index entry is only
+     * removed if it points to this customer.
+     *
+     * @param id The customer's ID.
+     */
+    private void remove(int id) {
+        Entry entry = byId.remove(id);
+        if (entry != null) {
+            byEmail.remove(emailKey(entry.customer()), id);
+        }
+    }
+
+    /**
+     * Returns the current write generation, read before going to the wrapped
+     * repository.
+     *
+     * @return The write generation.
+     */
+    private synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Drops a customer after it was written, so the next read sees the change.
+     *
+     * @param id The customer's ID.
+     */
+    @Override
+    public synchronized void evict(int id) {
+        generation++;
+        remove(id);
+        stats.recordInvalidation();
+    }
+
+    /**
+     * Drops every cached customer.
+     */
+    public synchronized void clear() {
+        generation++;
+        byId.clear();
+        byEmail.clear();
+        stats.recordInvalidation();
+    }
+
+    /**
+     * Retrieves all customers from the wrapped repository. Lists are not cached.
+     *
+     * @return A {@code List} of all {@link Customer} entities.
+     */
+    @Override
+    public List<Customer> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * Streams every customer from the wrapped repository. Streamed customers
+     * are not cached.
+     *
+     * @param fetchSize The number of rows fetched from the database at a time.
+     * @return A stream of all customers, which must be closed.
+     * @throws SQLException If the query cannot be run.
+     */
+    @Override
+    public Stream<Customer> streamAll(int fetchSize) throws SQLException {
+        return delegate.streamAll(fetchSize);
+    }
+
+    /**
+     * Retrieves one page of customers from the wrapped repository.
+     *
+     * @param afterId The ID of the last customer on the previous page.
+     * @param limit   The maximum number of customers to return.
+     * @param sort    The direction to read the IDs in.
+     * @return A {@code List} of at most {@code limit} customers.
+     */
+    @Override
+    public List<Customer> findPage(int afterId, int limit, SortDirection sort) {
+        return delegate.findPage(afterId, limit, sort);
+    }
+
+    /**
+     * Counts the customers in the wrapped repository.
+     *
+     * @return The number of customers.
+     */
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+
+    /**
+     * Finds the ID of the customer at a position in ID order.
+     *
+     * @param offset The zero-based position of the customer.
+     * @param sort   The direction the IDs are ordered in.
+     * @return The ID at that position, or {@code -1} if there is none.
+     */
+    @Override
+    public int findIdAt(int offset, SortDirection sort) {
+        return delegate.findIdAt(offset, sort);
+    }
+
+    /**
+     * Returns a customer by ID from the cache, reading and caching it on a miss.
+     *
+     * @param id The ID of the customer to retrieve.
+     * @return The {@link Customer}, or {@code null} if no such customer exists.
+     */
+    @Override
+    public Customer findById(int id) {
+        Customer customer = lookup(id);
+        if (customer == null) {
+            long readAt = generation();
+            customer = delegate.findById(id);
+            store(customer, readAt, null);
+        }
+        return customer;
+    }
+
+    /**
+     * Returns a customer by email from the cache, reading and caching it on a
+     * miss. The comparison is case-insensitive.
+     *
+     * @param email The email address of the customer to retrieve.
+     * @return The {@link Customer}, or {@code null} if no such customer exists.
+     */
+    @Override
+    public Customer findByEmail(String email) {
+        String key = CustomerRepository.normalizeEmail(email);
+        Customer customer;
+        synchronized (this) {
+            customer = lookup(byEmail.get(key));
+        }
+        if (customer == null) {
+            long readAt = generation();
+            customer = delegate.findByEmail(email);
+            store(customer, readAt, key);
+        }
+        return customer;
+    }
+
+    /**
+     * Saves a new customer. Nothing cached can refer to it yet, so the cache is
+     * left as it is.
+     *
+     * @param obj The customer to save.
+     * @return The saved {@link Customer}, or {@code null} if the save fails.
+     */
+    @Override
+    public Customer save(CreateCustomerDto obj) {
+        return delegate.save(obj);
+    }
+
+    /**
+     * Inserts all the given customers.
+     *
+     * @param objs The customers to insert.
+     * @return The number of customers inserted.
+     * @throws SQLException If the insert fails.
+     */
+    @Override
+    public int saveAll(List<CreateCustomerDto> objs) throws SQLException {
+        return delegate.saveAll(objs);
+    }
+
+    /**
+     * Updates a customer and caches the updated row in place of the old one.
+     *
+     * @param obj The customer to update.
+     * @return The updated {@link Customer}, or {@code null} if the update fails.
+     */
+    @Override
+    public Customer update(CreateCustomerDto obj) {
+        int id = obj instanceof UpdateCustomerDto update ? update.getCustomerId() : -1;
+        Customer updated;
+        try {
+            updated = delegate.update(obj);
+        } finally {
+            evict(id);
+        }
+        store(updated, generation(), null);
+        return updated;
+    }
+
+    /**
+     * Adds to a customer's credit limit and caches the updated row in place of
+     * the old one.
+     *
+     * @param customerId     The ID of the customer to top up.
+     * @param amount         The amount to add.
+     * @param maxCreditLimit The highest credit limit the customer may reach.
+     * @return The updated {@link Customer}, or {@code null} if the credit was not
+     *         added.
+     */
+    @Override
+    public Customer addCredit(int customerId, double amount, double maxCreditLimit) {
+        Customer updated;
+        try {
+            updated = delegate.addCredit(customerId, amount, maxCreditLimit);
+        } finally {
+            evict(customerId);
+        }
+        store(updated, generation(), null);
+        return updated;
+    }
+
+    /**
+     * Deletes a customer and drops it from the cache.
+     *
+     * @param id The ID of the customer to delete.
+     * @return {@code true} if the deletion was successful.
+     */
+    @Override
+    public boolean deleteById(int id) {
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            evict(id);
+        }
+    }
+
+    /**
+     * Drops the 'CUSTOMER' table and every cached customer.
+     *
+     * @throws SQLException If a database error occurs.
+     */
+    @Override
+    public void dropTable() throws SQLException {
+        try {
+            delegate.dropTable();
+        } finally {
+            clear();
+        }
+    }
+
+    /**
+     * Creates the 'CUSTOMER' table, dropping every cached customer.
+     *
+     * @throws SQLException If a database error occurs.
+     */
+    @Override
+    public void createTable() throws SQLException {
+        try {
+            delegate.createTable();
+        } finally {
+            clear();
+        }
+    }
+
+    /**
+     * Seeds the 'CUSTOMER' table.
+     *
+     * @throws SQLException If the customers cannot be inserted.
+     */
+    @Override
+    public void populateDatabase() throws SQLException {
+        delegate.populateDatabase();
+    }
+}
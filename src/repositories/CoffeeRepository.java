@@ -1,13 +1,20 @@
 package repositories;
 
 import Interfaces.ICoffeeRepository;
+import config.AppConfig;
 import dto.CreateCoffeeDto;
 import dto.UpdateCoffeeDto;
 import entites.Coffee;
+import enums.SortDirection;
+import utils.BatchInserter;
+import utils.ConnectionPool;
+import utils.Log;
+import utils.ResultSetStream;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implements the {@link ICoffeeRepository} interface to provide data access
@@ -20,32 +27,21 @@ import java.util.List;
  * @since 2025-04-20
  */
 public class CoffeeRepository implements ICoffeeRepository {
+    private static final String INSERT_SQL = """
+            INSERT INTO COFFEE(COFFEE_NAME, DESCRIPTION, PRICE, IS_IN_STOCK)
+            VALUES (?, ?, ?, ?)
+            """;
 
-    private final Connection connection;
+    private final ConnectionPool pool;
 
     /**
-     * Constructs a new {@code CoffeeRepository} with the specified database
-     * connection.
+     * Constructs a new {@code CoffeeRepository} that borrows a connection from
+     * the specified pool for each operation.
      *
-     * @param connection The {@link Connection} to the database.
+     * @param pool The {@link ConnectionPool} to borrow connections from.
      */
-    public CoffeeRepository(Connection connection) {
-        this.connection = connection;
-    }
-
-    /**
-     * Initializes the 'COFFEE' table in the database by first dropping it if it
-     * exists
-     * and then recreating it. After creation, it populates the table with initial
-     * coffee menu items.
-     *
-     * @throws SQLException If a database error occurs during table manipulation or
-     *                      population.
-     */
-    @Override
-    public void initTable() throws SQLException {
-        resetDatabase();
-        populateDatabase();
+    public CoffeeRepository(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     /**
@@ -63,8 +59,9 @@ public class CoffeeRepository implements ICoffeeRepository {
                 """;
         List<Coffee> coffees = new ArrayList<>();
 
-        try (Statement stmt = connection.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
                 Coffee coffee = mapToCoffee(rs);
                 coffees.add(coffee);
@@ -72,12 +69,117 @@ public class CoffeeRepository implements ICoffeeRepository {
             }
             return coffees;
         } catch (SQLException e) {
-            System.out.println(e.getMessage());
+            Log.error(e.getMessage());
             // Do nothing here since if it doesn't exist we will just create it
         }
         return coffees;
     }
 
+    /**
+     * Streams every {@link Coffee} entity from the 'COFFEE' table in ID
+     * order, reading {@code fetchSize} rows at a time instead of building a
+     * list. The stream holds a database connection until it is closed.
+     *
+     * @param fetchSize The number of rows fetched from the database at a time.
+     * @return A stream of all coffees, which must be closed.
+     * @throws SQLException If the query cannot be run.
+     */
+    @Override
+    public Stream<Coffee> streamAll(int fetchSize) throws SQLException {
+        String sql = """
+                SELECT * FROM COFFEE ORDER BY COFFEE_ID
+                """;
+        return ResultSetStream.stream(pool, sql, fetchSize, this::mapToCoffee);
+    }
+
+    /**
+     * Retrieves one page of {@link Coffee} entities using a keyset predicate
+     * on 'COFFEE_ID', so the cost of a page does not grow with how far into the
+     * table it is.
+     *
+     * @param afterId The ID of the last coffee on the previous page, or
+     *                {@link SortDirection#getFirstKey()} for the first page.
+     * @param limit   The maximum number of coffees to return.
+     * @param sort    The direction to read the IDs in.
+     * @return A {@code List} of at most {@code limit} {@link Coffee} entities
+     *         following {@code afterId}, or an empty list if there are no more
+     *         coffees or if a database error occurs.
+     */
+    @Override
+    public List<Coffee> findPage(int afterId, int limit, SortDirection sort) {
+        String sql = "SELECT * FROM COFFEE"
+                + " WHERE COFFEE_ID " + sort.getKeyComparison() + " ?"
+                + " ORDER BY COFFEE_ID " + sort.getSql()
+                + " FETCH FIRST ? ROWS ONLY";
+
+        List<Coffee> coffees = new ArrayList<>();
+
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                coffees.add(mapToCoffee(rs));
+            }
+        } catch (SQLException e) {
+            Log.error("Find Page Failed: {}", e.getMessage());
+        }
+
+        return coffees;
+    }
+
+    /**
+     * Counts the rows in the 'COFFEE' table.
+     *
+     * @return The number of coffees, or {@code 0} if a database error occurs.
+     */
+    @Override
+    public int count() {
+        String sql = "SELECT COUNT(*) FROM COFFEE";
+
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            Log.error("Count Failed: {}", e.getMessage());
+        }
+
+        return 0;
+    }
+
+    /**
+     * Finds the ID of the coffee at a position in ID order, reading only the
+     * primary key index. Used to start a keyset page without reading the pages
+     * before it.
+     *
+     * @param offset The zero-based position of the coffee.
+     * @param sort   The direction the IDs are ordered in.
+     * @return The ID at that position, or {@code -1} if there is no coffee there
+     *         or if a database error occurs.
+     */
+    @Override
+    public int findIdAt(int offset, SortDirection sort) {
+        String sql = "SELECT COFFEE_ID FROM COFFEE ORDER BY COFFEE_ID " + sort.getSql()
+                + " OFFSET ? ROWS FETCH FIRST 1 ROW ONLY";
+
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, offset);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            Log.error("Find Id Failed: {}", e.getMessage());
+        }
+
+        return -1;
+    }
+
     /**
      * Retrieves a {@link Coffee} entity from the 'COFFEE' table based on its ID.
      *
@@ -88,6 +190,28 @@ public class CoffeeRepository implements ICoffeeRepository {
      */
     @Override
     public Coffee findById(int coffeeId) {
+        try (Connection connection = pool.getConnection()) {
+            return findById(connection, coffeeId);
+        } catch (SQLException e) {
+            Log.error(e.getMessage());
+            // Do nothing here since we will just return a null obj.
+        }
+
+        return null;
+    }
+
+    /**
+     * Retrieves a {@link Coffee} entity by ID using a connection the caller
+     * already holds, so writes can re-read their row without borrowing a second
+     * connection from the pool.
+     *
+     * @param connection The {@link Connection} to run the query on.
+     * @param coffeeId   The ID of the coffee to retrieve.
+     * @return The {@link Coffee} entity with the specified ID, or {@code null} if
+     *         no such coffee exists.
+     * @throws SQLException If a database error occurs.
+     */
+    private Coffee findById(Connection connection, int coffeeId) throws SQLException {
         String sql = """
                     SELECT * FROM COFFEE WHERE COFFEE_ID = ?
                 """;
@@ -102,9 +226,6 @@ public class CoffeeRepository implements ICoffeeRepository {
 
                 coffee = mapToCoffee(rs);
             }
-        } catch (SQLException e) {
-            System.out.println(e.getMessage());
-            // Do nothing here since we will just return a null obj.
         }
 
         return coffee;
@@ -113,9 +234,9 @@ public class CoffeeRepository implements ICoffeeRepository {
     /**
      * Saves a new coffee to the 'COFFEE' table using the provided
      * {@link CreateCoffeeDto}.
-     * Upon successful insertion, it retrieves and returns the newly created
-     * {@link Coffee}
-     * entity, including its generated ID.
+     * The returned {@link Coffee} is built from the DTO and the generated ID
+     * instead of being read back, unless {@link AppConfig#DB_VERIFY_WRITES} is
+     * set.
      *
      * @param coffee The {@link CreateCoffeeDto} containing the details of the
      *               coffee to save.
@@ -124,33 +245,44 @@ public class CoffeeRepository implements ICoffeeRepository {
      */
     @Override
     public Coffee save(CreateCoffeeDto coffee) {
-        String sql = """
-                INSERT INTO COFFEE(COFFEE_NAME, DESCRIPTION, PRICE, IS_IN_STOCK)
-                VALUES (?, ?, ?, ?)
-                """;
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             setCoffeeProps(coffee, stmt);
             stmt.executeUpdate();
 
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     int coffeeId = generatedKeys.getInt(1);
-                    return findById(coffeeId);
+                    return AppConfig.DB_VERIFY_WRITES ? findById(connection, coffeeId) : coffee.toCoffee(coffeeId);
                 }
             }
         } catch (SQLException e) {
-            System.out.println("Save Coffee Failed: " + e.getMessage());
+            Log.error("Save Coffee Failed: {}", e.getMessage());
         }
         return null;
     }
 
+    /**
+     * Inserts all the given coffees into the 'COFFEE' table in a single batched
+     * transaction. Unlike {@link #save(CreateCoffeeDto)}, the inserted rows are
+     * not read back.
+     *
+     * @param coffees The {@link CreateCoffeeDto}s to insert.
+     * @return The number of coffees inserted.
+     * @throws SQLException If the insert fails; no coffees are inserted in that
+     *                      case.
+     */
+    @Override
+    public int saveAll(List<CreateCoffeeDto> coffees) throws SQLException {
+        return BatchInserter.insertAll(pool, "COFFEE", INSERT_SQL, coffees, this::setCoffeeProps);
+    }
+
     /**
      * Updates an existing coffee in the 'COFFEE' table using the provided
      * {@link CreateCoffeeDto}. The {@code coffee} object must be an instance of
      * {@link UpdateCoffeeDto} to include the coffee's ID for the WHERE clause.
-     * Upon successful update, it retrieves and returns the updated {@link Coffee}
-     * entity.
+     * The returned {@link Coffee} is built from the DTO instead of being read
+     * back, unless {@link AppConfig#DB_VERIFY_WRITES} is set.
      *
      * @param coffee The {@link CreateCoffeeDto} (must be {@link UpdateCoffeeDto})
      *               containing the updated details of the coffee.
@@ -174,22 +306,21 @@ public class CoffeeRepository implements ICoffeeRepository {
                    IS_IN_STOCK = ?
                    WHERE COFFEE_ID = ?
                 """;
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             setCoffeeProps(updateCoffee, stmt);
             stmt.setInt(5, updateCoffee.getCoffeeId());
-            stmt.executeUpdate();
-
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    int coffeeId = generatedKeys.getInt(1);
-                    return findById(coffeeId);
-                }
+            if (stmt.executeUpdate() == 0) {
+                return null;
             }
+
+            return AppConfig.DB_VERIFY_WRITES
+                    ? findById(connection, updateCoffee.getCoffeeId())
+                    : updateCoffee.toCoffee();
         } catch (SQLException e) {
-            System.out.println("Update Coffee Failed: " + e.getMessage());
+            Log.error("Update Coffee Failed: {}", e.getMessage());
             return null;
         }
-        return null;
     }
 
     /**
@@ -204,11 +335,12 @@ public class CoffeeRepository implements ICoffeeRepository {
         String sql = """
                     DELETE FROM COFFEE WHERE COFFEE_ID = ?
                 """;
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, coffeeId);
             stmt.executeUpdate();
         } catch (SQLException e) {
-            System.out.println("Delete by Id Failed: " + e.getMessage());
+            Log.error("Delete by Id Failed: {}", e.getMessage());
             return false;
         }
 
@@ -299,15 +431,26 @@ public class CoffeeRepository implements ICoffeeRepository {
     }
 
     /**
-     * Drops the 'COFFEE' table from the database if it exists.
+     * Drops the 'COFFEE' table from the database.
+     *
+     * @throws SQLException If the table does not exist or cannot be dropped.
+     */
+    @Override
+    public void dropTable() throws SQLException {
+        try (Connection connection = pool.getConnection();
+                Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("DROP TABLE COFFEE");
+        }
+    }
+
+    /**
      * Creates the 'COFFEE' table in the database with the necessary columns and
      * constraints.
      *
-     * @throws SQLException If a database error occurs during the drop operation.
+     * @throws SQLException If the table cannot be created.
      */
     @Override
-    public void resetDatabase() throws SQLException {
-        String dropSQL = "DROP TABLE COFFEE";
+    public void createTable() throws SQLException {
         String createSQL = """
                 CREATE TABLE COFFEE (
                   COFFEE_ID          INTEGER   GENERATED ALWAYS AS IDENTITY (START WITH 1, INCREMENT BY 1) CONSTRAINT PK_COFFEE_ID PRIMARY KEY,
@@ -317,31 +460,23 @@ public class CoffeeRepository implements ICoffeeRepository {
                   IS_IN_STOCK        BOOLEAN DEFAULT TRUE NOT NULL
                 )
                 """;
-        try (Statement stmt = connection.createStatement()) {
-            stmt.executeUpdate(dropSQL);
-        } catch (SQLException ex) {
-            System.out.println("Failed to drop table COFFEE: " + ex.getMessage());
-        }
-        try (Statement stmt = connection.createStatement()) {
+
+        try (Connection connection = pool.getConnection();
+                Statement stmt = connection.createStatement()) {
             stmt.executeUpdate(createSQL);
-        } catch (SQLException ex) {
-            System.out.println("Failed to create table COFFEE: " + ex.getMessage());
         }
     }
 
     /**
      * Populates the 'COFFEE' table with the initial coffee menu items defined in
-     * {@link #createInitialMenu()}.
+     * {@link #createInitialMenu()} using a single batched insert.
      *
-     * @throws SQLException If a database error occurs during the save operation for
-     *                      any coffee item.
+     * @throws SQLException If a database error occurs while inserting the coffee
+     *                      items.
      */
     @Override
     public void populateDatabase() throws SQLException {
-        List<CreateCoffeeDto> menu = createInitialMenu();
-        for (CreateCoffeeDto coffee : menu) {
-            save(coffee);
-        }
+        saveAll(createInitialMenu());
     }
 
 }
\ No newline at end of file
@@ -1,13 +1,21 @@
 package repositories;
 
 import Interfaces.ICustomerRepository;
+import config.AppConfig;
 import dto.CreateCustomerDto;
 import dto.UpdateCustomerDto;
 import entites.Customer;
+import enums.SortDirection;
+import utils.BatchInserter;
+import utils.ConnectionPool;
+import utils.Log;
+import utils.ResultSetStream;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
 
 /**
  * Implements the {@link ICustomerRepository} interface to provide data access
@@ -20,32 +28,27 @@ import java.util.List;
  * @since 2025-04-20
  */
 public class CustomerRepository implements ICustomerRepository {
-
-    private final Connection connection;
-
-    /**
-     * Constructs a new {@code CustomerRepository} with the specified database
-     * connection.
-     *
-     * @param conn The {@link Connection} to the database.
-     */
-    public CustomerRepository(Connection conn) {
-        this.connection = conn;
-    }
+    private static final String INSERT_SQL = """
+            INSERT INTO CUSTOMER (FIRST_NAME, LAST_NAME, STREET, CITY, STATE, ZIP, EMAIL_ADDRESS, PHONE_NUMBER, CREDIT_LIMIT,
+                                  EMAIL_NORMALIZED)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    // Adds to the balance in place, so a top-up never undoes a concurrent debit
+    private static final String ADD_CREDIT_SQL = """
+            UPDATE CUSTOMER SET CREDIT_LIMIT = CREDIT_LIMIT + ?
+            WHERE CUSTOMER_ID = ? AND CREDIT_LIMIT + ? <= ?
+            """;
+
+    private final ConnectionPool pool;
 
     /**
-     * Initializes the 'CUSTOMER' table in the database by first dropping it if it
-     * exists
-     * and then recreating it. After creation, it populates the table with initial
-     * customer data.
+     * Constructs a new {@code CustomerRepository} that borrows a connection from
+     * the specified pool for each operation.
      *
-     * @throws SQLException If a database error occurs during table manipulation or
-     *                      population.
+     * @param pool The {@link ConnectionPool} to borrow connections from.
      */
-    @Override
-    public void initTable() throws SQLException {
-        resetDatabase();
-        populateDatabase();
+    public CustomerRepository(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     /**
@@ -64,20 +67,126 @@ public class CustomerRepository implements ICustomerRepository {
 
         List<Customer> customers = new ArrayList<>();
 
-        try (Statement stmt = connection.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
                 Customer customer = mapToCustomer(rs);
                 customers.add(customer);
             }
 
         } catch (SQLException e) {
-            System.out.println(e.getMessage());
+            Log.error(e.getMessage());
             // Do nothing here we will just return an empty list.
         }
         return customers;
     }
 
+    /**
+     * Streams every {@link Customer} entity from the 'CUSTOMER' table in ID
+     * order, reading {@code fetchSize} rows at a time instead of building a
+     * list. The stream holds a database connection until it is closed.
+     *
+     * @param fetchSize The number of rows fetched from the database at a time.
+     * @return A stream of all customers, which must be closed.
+     * @throws SQLException If the query cannot be run.
+     */
+    @Override
+    public Stream<Customer> streamAll(int fetchSize) throws SQLException {
+        String sql = """
+                SELECT * FROM CUSTOMER ORDER BY CUSTOMER_ID
+                """;
+        return ResultSetStream.stream(pool, sql, fetchSize, this::mapToCustomer);
+    }
+
+    /**
+     * Retrieves one page of {@link Customer} entities using a keyset predicate
+     * on 'CUSTOMER_ID', so the cost of a page does not grow with how far into the
+     * table it is.
+     *
+     * @param afterId The ID of the last customer on the previous page, or
+     *                {@link SortDirection#getFirstKey()} for the first page.
+     * @param limit   The maximum number of customers to return.
+     * @param sort    The direction to read the IDs in.
+     * @return A {@code List} of at most {@code limit} {@link Customer} entities
+     *         following {@code afterId}, or an empty list if there are no more
+     *         customers or if a database error occurs.
+     */
+    @Override
+    public List<Customer> findPage(int afterId, int limit, SortDirection sort) {
+        String sql = "SELECT * FROM CUSTOMER"
+                + " WHERE CUSTOMER_ID " + sort.getKeyComparison() + " ?"
+                + " ORDER BY CUSTOMER_ID " + sort.getSql()
+                + " FETCH FIRST ? ROWS ONLY";
+
+        List<Customer> customers = new ArrayList<>();
+
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                customers.add(mapToCustomer(rs));
+            }
+        } catch (SQLException e) {
+            Log.error("Find Page Failed: {}", e.getMessage());
+        }
+
+        return customers;
+    }
+
+    /**
+     * Counts the rows in the 'CUSTOMER' table.
+     *
+     * @return The number of customers, or {@code 0} if a database error occurs.
+     */
+    @Override
+    public int count() {
+        String sql = "SELECT COUNT(*) FROM CUSTOMER";
+
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            Log.error("Count Failed: {}", e.getMessage());
+        }
+
+        return 0;
+    }
+
+    /**
+     * Finds the ID of the customer at a position in ID order, reading only the
+     * primary key index. Used to start a keyset page without reading the pages
+     * before it.
+     *
+     * @param offset The zero-based position of the customer.
+     * @param sort   The direction the IDs are ordered in.
+     * @return The ID at that position, or {@code -1} if there is no customer there
+     *         or if a database error occurs.
+     */
+    @Override
+    public int findIdAt(int offset, SortDirection sort) {
+        String sql = "SELECT CUSTOMER_ID FROM CUSTOMER ORDER BY CUSTOMER_ID " + sort.getSql()
+                + " OFFSET ? ROWS FETCH FIRST 1 ROW ONLY";
+
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, offset);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            Log.error("Find Id Failed: {}", e.getMessage());
+        }
+
+        return -1;
+    }
+
     /**
      * Retrieves a {@link Customer} entity from the 'CUSTOMER' table based on its
      * ID.
@@ -89,6 +198,28 @@ public class CustomerRepository implements ICustomerRepository {
      */
     @Override
     public Customer findById(int id) {
+        try (Connection connection = pool.getConnection()) {
+            return findById(connection, id);
+        } catch (SQLException e) {
+            Log.error(e.getMessage());
+            // Do nothing here since we will just return a null obj.
+        }
+
+        return null;
+    }
+
+    /**
+     * Retrieves a {@link Customer} entity by ID using a connection the caller
+     * already holds, so writes can re-read their row without borrowing a second
+     * connection from the pool.
+     *
+     * @param connection The {@link Connection} to run the query on.
+     * @param id         The ID of the customer to retrieve.
+     * @return The {@link Customer} entity with the specified ID, or {@code null}
+     *         if no such customer exists.
+     * @throws SQLException If a database error occurs.
+     */
+    private Customer findById(Connection connection, int id) throws SQLException {
         String sql = """
                 SELECT * FROM CUSTOMER WHERE CUSTOMER_ID = ?
                 """;
@@ -100,9 +231,6 @@ public class CustomerRepository implements ICustomerRepository {
             if (rs.next()) {
                 customer = mapToCustomer(rs);
             }
-        } catch (SQLException e) {
-            System.out.println(e.getMessage());
-            // Do nothing here since we will just return a null obj.
         }
 
         return customer;
@@ -111,7 +239,9 @@ public class CustomerRepository implements ICustomerRepository {
     /**
      * Retrieves a {@link Customer} entity from the 'CUSTOMER' table based on their
      * email address.
-     * The comparison is case-insensitive.
+     * The comparison is case-insensitive. It is made against the
+     * 'EMAIL_NORMALIZED' column, whose unique index makes the lookup cost the
+     * same however many customers there are.
      *
      * @param email The email address of the customer to retrieve.
      * @return The {@link Customer} entity with the specified email address, or
@@ -121,18 +251,19 @@ public class CustomerRepository implements ICustomerRepository {
     @Override
     public Customer findByEmail(String email) {
         String sql = """
-                SELECT * FROM CUSTOMER WHERE LOWER(EMAIL_ADDRESS) = LOWER(?)
+                SELECT * FROM CUSTOMER WHERE EMAIL_NORMALIZED = ?
                 """;
         Customer customer = null;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, email);
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, normalizeEmail(email));
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
                 customer = mapToCustomer(rs);
             }
         } catch (SQLException e) {
-            System.out.println(e.getMessage());
+            Log.error(e.getMessage());
             // Do nothing here since we will just return a null obj.
         }
 
@@ -142,9 +273,9 @@ public class CustomerRepository implements ICustomerRepository {
     /**
      * Saves a new customer to the 'CUSTOMER' table using the provided
      * {@link CreateCustomerDto}.
-     * Upon successful insertion, it retrieves and returns the newly created
-     * {@link Customer}
-     * entity, including its generated ID.
+     * The returned {@link Customer} is built from the DTO and the generated ID
+     * instead of being read back, unless {@link AppConfig#DB_VERIFY_WRITES} is
+     * set.
      *
      * @param customer The {@link CreateCustomerDto} containing the details of the
      *                 customer to save.
@@ -153,22 +284,21 @@ public class CustomerRepository implements ICustomerRepository {
      */
     @Override
     public Customer save(CreateCustomerDto customer) {
-        String sql = """
-                INSERT INTO CUSTOMER (FIRST_NAME, LAST_NAME, STREET, CITY, STATE, ZIP, EMAIL_ADDRESS, PHONE_NUMBER, CREDIT_LIMIT)
-                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-                """;
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             setCustomerProps(customer, stmt);
             stmt.executeUpdate();
 
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     int customerId = generatedKeys.getInt(1);
-                    return findById(customerId);
+                    return AppConfig.DB_VERIFY_WRITES
+                            ? findById(connection, customerId)
+                            : customer.toCustomer(customerId);
                 }
             }
         } catch (SQLException e) {
-            System.out.println("Save Customer Failed: " + e.getMessage());
+            Log.error("Save Customer Failed: {}", e.getMessage());
             return null;
         }
 
@@ -176,12 +306,29 @@ public class CustomerRepository implements ICustomerRepository {
 
     }
 
+    /**
+     * Inserts all the given customers into the 'CUSTOMER' table in a single
+     * batched transaction. Unlike {@link #save(CreateCustomerDto)}, the inserted
+     * rows are not read back.
+     *
+     * @param customers The {@link CreateCustomerDto}s to insert.
+     * @return The number of customers inserted.
+     * @throws SQLException If the insert fails; no customers are inserted in that
+     *                      case.
+     */
+    @Override
+    public int saveAll(List<CreateCustomerDto> customers) throws SQLException {
+        return BatchInserter.insertAll(pool, "CUSTOMER", INSERT_SQL, customers, this::setCustomerProps);
+    }
+
     /**
      * Updates an existing customer in the 'CUSTOMER' table using the provided
      * {@link CreateCustomerDto}. The {@code customer} object must be an instance of
      * {@link UpdateCustomerDto} to include the customer's ID for the WHERE clause.
-     * Upon successful update, it retrieves and returns the updated {@link Customer}
-     * entity.
+     * The credit limit is not written: orders and top-ups change it in place, so
+     * writing back the value the caller read could undo one of them. Use
+     * {@link #addCredit(int, double, double)} to change it. The returned
+     * {@link Customer} is read back so it carries the stored credit limit.
      *
      * @param customer The {@link CreateCustomerDto} (must be
      *                 {@link UpdateCustomerDto})
@@ -209,25 +356,58 @@ public class CustomerRepository implements ICustomerRepository {
                 ZIP = ?,
                 EMAIL_ADDRESS = ?,
                 PHONE_NUMBER = ?,
-                CREDIT_LIMIT = ?
+                EMAIL_NORMALIZED = ?
                 WHERE CUSTOMER_ID = ?
                 """;
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            setCustomerProps(updateCustomer, stmt);
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            setContactProps(updateCustomer, stmt);
+            stmt.setString(9, normalizeEmail(updateCustomer.getEmail()));
             stmt.setInt(10, updateCustomer.getCustomerId());
             int result = stmt.executeUpdate();
 
             if (result == 0)
                 throw new RuntimeException("Failed to update customer");
 
-            return findById(updateCustomer.getCustomerId());
+            return findById(connection, updateCustomer.getCustomerId());
         } catch (SQLException e) {
-            System.out.println("Save Customer Failed: " + e.getMessage());
+            Log.error("Save Customer Failed: {}", e.getMessage());
             return null;
         }
 
     }
 
+    /**
+     * Adds to a customer's credit limit in a single statement, so the change is
+     * made against the stored balance and not one the caller read earlier. The
+     * credit limit is left unchanged if the addition would take it above
+     * {@code maxCreditLimit}.
+     *
+     * @param customerId     The ID of the customer to top up.
+     * @param amount         The amount to add.
+     * @param maxCreditLimit The highest credit limit the customer may reach.
+     * @return The updated {@link Customer}, or {@code null} if the customer does
+     *         not exist, the new credit limit would exceed
+     *         {@code maxCreditLimit}, or a database error occurs.
+     */
+    @Override
+    public Customer addCredit(int customerId, double amount, double maxCreditLimit) {
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(ADD_CREDIT_SQL)) {
+            stmt.setDouble(1, amount);
+            stmt.setInt(2, customerId);
+            stmt.setDouble(3, amount);
+            stmt.setDouble(4, maxCreditLimit);
+            if (stmt.executeUpdate() == 0) {
+                return null;
+            }
+            return findById(connection, customerId);
+        } catch (SQLException e) {
+            Log.error("Add Credit Failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Deletes a customer from the 'CUSTOMER' table based on their ID.
      *
@@ -239,11 +419,12 @@ public class CustomerRepository implements ICustomerRepository {
     public boolean deleteById(int id) {
         String sql = "DELETE FROM CUSTOMER WHERE CUSTOMER_ID = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
         } catch (SQLException e) {
-            System.out.println("Delete by Id Failed: " + e.getMessage());
+            Log.error("Delete by Id Failed: {}", e.getMessage());
             return false;
         }
 
@@ -269,13 +450,14 @@ public class CustomerRepository implements ICustomerRepository {
                 .setZip(rs.getString("ZIP"))
                 .setEmail(rs.getString("EMAIL_ADDRESS"))
                 .setPhone(rs.getString("PHONE_NUMBER"))
-                .setCreditLimit(rs.getFloat("CREDIT_LIMIT"))
+                .setCreditLimit(rs.getDouble("CREDIT_LIMIT"))
                 .build();
     }
 
     /**
      * Sets the properties of a customer in a {@link PreparedStatement} based on the
-     * data from a {@link CreateCustomerDto}.
+     * data from a {@link CreateCustomerDto}, including the normalized email the
+     * lookups by email are made against.
      *
      * @param customer The {@link CreateCustomerDto} containing the customer's
      *                 properties.
@@ -284,6 +466,20 @@ public class CustomerRepository implements ICustomerRepository {
      *                      parameters.
      */
     private void setCustomerProps(CreateCustomerDto customer, PreparedStatement stmt) throws SQLException {
+        setContactProps(customer, stmt);
+        stmt.setDouble(9, customer.getCreditLimit());
+        stmt.setString(10, normalizeEmail(customer.getEmail()));
+    }
+
+    /**
+     * Sets the name, address, email and phone parameters, the first eight, of a
+     * {@link PreparedStatement} from a {@link CreateCustomerDto}.
+     *
+     * @param customer The {@link CreateCustomerDto} containing the customer data.
+     * @param stmt     The {@link PreparedStatement} to set the parameters on.
+     * @throws SQLException If an error occurs while setting the parameters.
+     */
+    private void setContactProps(CreateCustomerDto customer, PreparedStatement stmt) throws SQLException {
         stmt.setString(1, customer.getFirstName());
         stmt.setString(2, customer.getLastName());
         stmt.setString(3, customer.getStreet());
@@ -292,7 +488,19 @@ public class CustomerRepository implements ICustomerRepository {
         stmt.setString(6, customer.getZip());
         stmt.setString(7, customer.getEmail());
         stmt.setString(8, customer.getPhone());
-        stmt.setDouble(9, customer.getCreditLimit());
+    }
+
+    /**
+     * Normalizes an email address for storage in and lookup against the
+     * 'EMAIL_NORMALIZED' column, so addresses that differ only in case or
+     * surrounding whitespace are the same address.
+     *
+     * @param email The email address as entered.
+     * @return The trimmed, lower-cased address, or {@code null} if
+     *         {@code email} is {@code null}.
+     */
+    static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -344,15 +552,26 @@ public class CustomerRepository implements ICustomerRepository {
     }
 
     /**
-     * Drops the 'CUSTOMER' table from the database if it exists.
+     * Drops the 'CUSTOMER' table from the database.
+     *
+     * @throws SQLException If the table does not exist or cannot be dropped.
+     */
+    @Override
+    public void dropTable() throws SQLException {
+        try (Connection connection = pool.getConnection();
+                Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("DROP TABLE CUSTOMER");
+        }
+    }
+
+    /**
      * Creates the 'CUSTOMER' table in the database with the necessary columns and
      * constraints.
      *
-     * @throws SQLException If a database error occurs during the drop or create
-     *                      operation.
+     * @throws SQLException If the table cannot be created.
      */
-    public void resetDatabase() throws SQLException {
-        String dropSQL = "DROP TABLE CUSTOMER";
+    @Override
+    public void createTable() throws SQLException {
         String createSQL = """
                 CREATE TABLE CUSTOMER (
                   CUSTOMER_ID         INTEGER         GENERATED ALWAYS AS IDENTITY (START WITH 1, INCREMENT BY 1) CONSTRAINT PK_CUSTOMER_ID PRIMARY KEY,
@@ -364,35 +583,27 @@ public class CustomerRepository implements ICustomerRepository {
                   ZIP                 VARCHAR(50)     NOT NULL,
                   EMAIL_ADDRESS       VARCHAR(50)     NOT NULL,
                   PHONE_NUMBER        VARCHAR(50)     NOT NULL,
-                  CREDIT_LIMIT        DOUBLE          NOT NULL
+                  CREDIT_LIMIT        DOUBLE          NOT NULL,
+                  EMAIL_NORMALIZED    VARCHAR(50)     CONSTRAINT UQ_CUSTOMER_EMAIL UNIQUE
                 )
                 """;
-        try (Statement stmt = connection.createStatement()) {
-            stmt.executeUpdate(dropSQL);
-        } catch (SQLException ex) {
-            System.out.println("Failed to drop table CUSTOMER: " + ex.getMessage());
-        }
 
-        try (Statement stmt = connection.createStatement()) {
+        try (Connection connection = pool.getConnection();
+                Statement stmt = connection.createStatement()) {
             stmt.executeUpdate(createSQL);
-        } catch (SQLException ex) {
-            System.out.println("Failed to create table CUSTOMER: " + ex.getMessage());
         }
     }
 
     /**
      * Populates the 'CUSTOMER' table with the initial customer data defined in
-     * {@link #generateInitialCustomers()}.
+     * {@link #generateInitialCustomers()} using a single batched insert.
      *
-     * @throws SQLException If a database error occurs during the save operation for
-     *                      any customer.
+     * @throws SQLException If a database error occurs while inserting the
+     *                      customers.
      */
     @Override
     public void populateDatabase() throws SQLException {
-        List<CreateCustomerDto> customers = generateInitialCustomers();
-        for (CreateCustomerDto customer : customers) {
-            save(customer);
-        }
+        saveAll(generateInitialCustomers());
     }
 
 }
\ No newline at end of file
@@ -1,14 +1,30 @@
 package repositories;
 
+import Interfaces.ICoffeeRepository;
+import Interfaces.ICustomerRepository;
 import Interfaces.IOrderRepository;
 import dto.CreateOrderDto;
 import dto.UpdateOrderDto;
 import dto.OrderCoffeeDto;
 import dto.OrderCustomerDto;
+import dto.OrderHistoryRow;
+import dto.OrderStats;
+import dto.PlacedOrderDto;
+import config.AppConfig;
+import entites.Coffee;
+import entites.Customer;
 import entites.Order;
+import enums.SortDirection;
+import exceptions.InsufficientCreditException;
+import utils.BatchInserter;
+import utils.ConnectionPool;
+import utils.Log;
+import utils.ResultSetStream;
+
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implements the {@link IOrderRepository} interface to provide data access
@@ -22,30 +38,76 @@ import java.util.List;
  */
 
 public class OrderRepository implements IOrderRepository {
-    private final Connection connection;
+    /**
+     * The foreign key from an order to its customer, with the configured delete
+     * rule. Derby backs it with an index on 'CUSTOMER_ID', so a customer's
+     * orders and the join to 'CUSTOMER' are index lookups.
+     */
+    public static final String CUSTOMER_FOREIGN_KEY = """
+            CONSTRAINT FK_ORDER_CUSTOMER FOREIGN KEY (CUSTOMER_ID)
+              REFERENCES CUSTOMER (CUSTOMER_ID) ON DELETE %s""".formatted(AppConfig.DB_ORDER_DELETE_RULE.getSql());
+
+    /**
+     * The foreign key from an order to its coffee, with the configured delete
+     * rule. Derby backs it with an index on 'COFFEE_ID'.
+     */
+    public static final String COFFEE_FOREIGN_KEY = """
+            CONSTRAINT FK_ORDER_COFFEE FOREIGN KEY (COFFEE_ID)
+              REFERENCES COFFEE (COFFEE_ID) ON DELETE %s""".formatted(AppConfig.DB_ORDER_DELETE_RULE.getSql());
+
+    private static final String INSERT_SQL = """
+            INSERT INTO COFFEE_ORDER (CUSTOMER_ID, COFFEE_ID, QUANTITY_ORDERED, TOTAL_PRICE)
+            VALUES (?, ?, ?, ?)
+            """;
+    private static final String DEBIT_CREDIT_SQL = """
+            UPDATE CUSTOMER SET CREDIT_LIMIT = CREDIT_LIMIT - ?
+            WHERE CUSTOMER_ID = ? AND CREDIT_LIMIT >= ?
+            """;
+    private static final String CREDIT_SQL = "SELECT CREDIT_LIMIT FROM CUSTOMER WHERE CUSTOMER_ID = ?";
+
+    private final ConnectionPool pool;
+    private final ICustomerRepository customerRepository;
+    private final ICoffeeRepository coffeeRepository;
 
     /**
-     * Constructs a new {@code OrderRepository} with the specified database
-     * connection.
+     * The customer and coffee a written order refers to, looked up before the
+     * write borrows its connection.
      *
-     * @param conn The {@link Connection} to the database.
+     * @param customer The customer, or {@code null} if it was not looked up or
+     *                 not found.
+     * @param coffee   The coffee, or {@code null} if it was not looked up or not
+     *                 found.
      */
-    public OrderRepository(Connection conn) {
-        this.connection = conn;
+    private record OrderParties(Customer customer, Coffee coffee) {
     }
 
     /**
-     * Initializes the 'COFFEE_ORDER' table in the database by first dropping it
-     * if it exists and then recreating it. After creation, it populates the table
-     * with initial order data.
+     * Constructs a new {@code OrderRepository} that borrows a connection from
+     * the specified pool for each operation. Orders returned by writes are read
+     * back with a join.
      *
-     * @throws SQLException If a database error occurs during table manipulation or
-     *                      population.
+     * @param pool The {@link ConnectionPool} to borrow connections from.
      */
-    @Override
-    public void initTable() throws SQLException {
-        resetDatabase();
-        populateDatabase();
+    public OrderRepository(ConnectionPool pool) {
+        this(pool, null, null);
+    }
+
+    /**
+     * Constructs a new {@code OrderRepository} that borrows a connection from
+     * the specified pool for each operation, and takes the customer and coffee
+     * details of written orders from the given repositories instead of reading
+     * them back.
+     *
+     * @param pool               The {@link ConnectionPool} to borrow connections
+     *                           from.
+     * @param customerRepository The repository customer names are looked up in.
+     * @param coffeeRepository   The repository coffee details are looked up in.
+     */
+    public OrderRepository(ConnectionPool pool, ICustomerRepository customerRepository,
+            ICoffeeRepository coffeeRepository) {
+        this.pool = pool;
+        this.customerRepository = customerRepository;
+        this.coffeeRepository = coffeeRepository;
     }
 
     /**
@@ -70,20 +132,142 @@ public class OrderRepository implements IOrderRepository {
 
         List<Order> orders = new ArrayList<>();
 
-        try (Statement stmt = connection.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
                 Order order = mapToOrder(rs);
                 orders.add(order);
             }
             return orders;
         } catch (SQLException ex) {
-            System.out.println(ex.getMessage());
+            Log.error(ex.getMessage());
+        }
+
+        return orders;
+    }
+
+    /**
+     * Streams every {@link Order} entity from the 'COFFEE_ORDER' table, with its
+     * customer and coffee details, in ID order, reading {@code fetchSize} rows at
+     * a time instead of building a list. The stream holds a database connection
+     * until it is closed.
+     *
+     * @param fetchSize The number of rows fetched from the database at a time.
+     * @return A stream of all orders, which must be closed.
+     * @throws SQLException If the query cannot be run.
+     */
+    @Override
+    public Stream<Order> streamAll(int fetchSize) throws SQLException {
+        String sql = """
+                SELECT CO.*, C.CUSTOMER_ID, C.FIRST_NAME, C.LAST_NAME, COF.COFFEE_ID, COF.COFFEE_NAME, COF.PRICE FROM COFFEE_ORDER CO
+                JOIN CUSTOMER C ON CO.CUSTOMER_ID = C.CUSTOMER_ID
+                JOIN COFFEE COF ON CO.COFFEE_ID = COF.COFFEE_ID
+                ORDER BY CO.ORDER_ID
+                """;
+        return ResultSetStream.stream(pool, sql, fetchSize, this::mapToOrder);
+    }
+
+    /**
+     * Retrieves one page of {@link Order} entities using a keyset predicate
+     * on 'ORDER_ID', so the cost of a page does not grow with how far into the
+     * table it is.
+     *
+     * @param afterId The ID of the last order on the previous page, or
+     *                {@link SortDirection#getFirstKey()} for the first page.
+     * @param limit   The maximum number of orders to return.
+     * @param sort    The direction to read the IDs in.
+     * @return A {@code List} of at most {@code limit} {@link Order} entities
+     *         following {@code afterId}, or an empty list if there are no more
+     *         orders or if a database error occurs.
+     */
+    @Override
+    public List<Order> findPage(int afterId, int limit, SortDirection sort) {
+        String sql = """
+                SELECT CO.*, C.CUSTOMER_ID, C.FIRST_NAME, C.LAST_NAME, COF.COFFEE_ID, COF.COFFEE_NAME, COF.PRICE FROM COFFEE_ORDER CO
+                JOIN CUSTOMER C ON CO.CUSTOMER_ID = C.CUSTOMER_ID
+                JOIN COFFEE COF ON CO.COFFEE_ID = COF.COFFEE_ID
+                """
+                + " WHERE CO.ORDER_ID " + sort.getKeyComparison() + " ?"
+                + " ORDER BY CO.ORDER_ID " + sort.getSql()
+                + " FETCH FIRST ? ROWS ONLY";
+
+        List<Order> orders = new ArrayList<>();
+
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                orders.add(mapToOrder(rs));
+            }
+        } catch (SQLException e) {
+            Log.error("Find Page Failed: {}", e.getMessage());
         }
 
         return orders;
     }
 
+    /**
+     * Counts the rows in the 'COFFEE_ORDER' table. The foreign keys guarantee
+     * every order has its customer and coffee, so no join is needed for the
+     * count to match {@link #findPage(int, int, SortDirection)}.
+     *
+     * @return The number of orders, or {@code 0} if a database error occurs.
+     */
+    @Override
+    public int count() {
+        String sql = """
+                SELECT COUNT(*) FROM COFFEE_ORDER
+                """;
+
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            Log.error("Count Failed: {}", e.getMessage());
+        }
+
+        return 0;
+    }
+
+    /**
+     * Finds the ID of the order at a position in ID order. Only IDs are read, so
+     * this is cheaper than reading the pages before it, and a keyset page can
+     * start from the result. The index behind the primary key answers it
+     * without touching 'CUSTOMER' or 'COFFEE'.
+     *
+     * @param offset The zero-based position of the order.
+     * @param sort   The direction the IDs are ordered in.
+     * @return The ID at that position, or {@code -1} if there is no order there
+     *         or if a database error occurs.
+     */
+    @Override
+    public int findIdAt(int offset, SortDirection sort) {
+        String sql = """
+                SELECT ORDER_ID FROM COFFEE_ORDER
+                """
+                + " ORDER BY ORDER_ID " + sort.getSql()
+                + " OFFSET ? ROWS FETCH FIRST 1 ROW ONLY";
+
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, offset);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            Log.error("Find Id Failed: {}", e.getMessage());
+        }
+
+        return -1;
+    }
+
     /**
      * Retrieves a specific {@link Order} entity from the 'COFFEE_ORDER' table based
      * on its ID, joining with 'CUSTOMER' and 'COFFEE' tables to fetch related
@@ -97,7 +281,27 @@ public class OrderRepository implements IOrderRepository {
      */
     @Override
     public Order findById(int id) {
+        try (Connection connection = pool.getConnection()) {
+            return findById(connection, id);
+        } catch (SQLException ex) {
+            Log.error(ex.getMessage());
+        }
 
+        return null;
+    }
+
+    /**
+     * Retrieves an {@link Order} entity by ID using a connection the caller
+     * already holds, so writes can re-read their row without borrowing a second
+     * connection from the pool.
+     *
+     * @param connection The {@link Connection} to run the query on.
+     * @param id         The ID of the order to retrieve.
+     * @return The {@link Order} entity with the specified ID, or {@code null} if
+     *         no such order exists.
+     * @throws SQLException If a database error occurs.
+     */
+    private Order findById(Connection connection, int id) throws SQLException {
         Order order = null;
         String sql = """
                 SELECT CO.*, C.CUSTOMER_ID, C.FIRST_NAME, C.LAST_NAME, COF.COFFEE_ID, COF.COFFEE_NAME, COF.PRICE FROM COFFEE_ORDER CO
@@ -112,50 +316,97 @@ public class OrderRepository implements IOrderRepository {
             if (rs.next()) {
                 order = mapToOrder(rs);
             }
-        } catch (SQLException ex) {
-            System.out.println(ex.getMessage());
         }
 
         return order;
     }
 
     /**
-     * Retrieves all {@link Order} entities associated with a specific customer ID
-     * from the 'COFFEE_ORDER' table.
+     * Retrieves a customer's order history, newest order first, as lightweight
+     * {@link OrderHistoryRow}s. Only the columns the history shows are read, the
+     * customer's orders are found through the index behind the
+     * 'FK_ORDER_CUSTOMER' foreign key, and 'COFFEE' is joined by primary key.
      *
      * @param customerId The ID of the customer whose orders are to be retrieved.
-     * @return A {@code List} of {@link Order} entities for the given customer ID,
+     * @param offset     The number of newer orders to skip.
+     * @param limit      The maximum number of orders to return.
+     * @return A {@code List} of at most {@code limit} {@link OrderHistoryRow}s,
      *         or an empty list if no orders are found for that customer or if a
-     *         database
-     *         error occurs.
+     *         database error occurs.
      */
     @Override
-    public List<Order> findByCustomerId(int customerId) {
+    public List<OrderHistoryRow> findByCustomerId(int customerId, int offset, int limit) {
         String sql = """
-                SELECT * FROM COFFEE_ORDER WHERE CUSTOMER_ID = ?
+                SELECT CO.ORDER_ID, COF.COFFEE_NAME, CO.QUANTITY_ORDERED, CO.TOTAL_PRICE FROM COFFEE_ORDER CO
+                JOIN COFFEE COF ON CO.COFFEE_ID = COF.COFFEE_ID
+                WHERE CO.CUSTOMER_ID = ?
+                ORDER BY CO.ORDER_ID DESC
+                OFFSET ? ROWS FETCH FIRST ? ROWS ONLY
                 """;
 
-        List<Order> orders = new ArrayList<>();
+        List<OrderHistoryRow> history = new ArrayList<>();
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, customerId);
+            stmt.setInt(2, offset);
+            stmt.setInt(3, limit);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
-                Order order = mapToOrder(rs);
-                orders.add(order);
+                history.add(new OrderHistoryRow.Builder()
+                        .setOrderId(rs.getInt("ORDER_ID"))
+                        .setCoffeeName(rs.getString("COFFEE_NAME"))
+                        .setQtyOrdered(rs.getDouble("QUANTITY_ORDERED"))
+                        .setTotal(rs.getDouble("TOTAL_PRICE"))
+                        .build());
             }
         } catch (SQLException ex) {
-            System.out.println(ex.getMessage());
+            Log.error("Find Order History Failed: {}", ex.getMessage());
         }
 
-        return orders;
+        return history;
+    }
+
+    /**
+     * Computes the order count and the sum, average, minimum and maximum order
+     * total with a single aggregate query, so the cost does not depend on how
+     * many rows the caller would otherwise have to load.
+     *
+     * @return The {@link OrderStats} over every row in 'COFFEE_ORDER'. All values
+     *         are zero if there are no orders or if a database error occurs.
+     */
+    @Override
+    public OrderStats getStats() {
+        String sql = """
+                SELECT COUNT(*), SUM(TOTAL_PRICE), AVG(TOTAL_PRICE), MIN(TOTAL_PRICE), MAX(TOTAL_PRICE)
+                FROM COFFEE_ORDER
+                """;
+
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                // SUM, AVG, MIN and MAX are NULL on an empty table, which getDouble reads as 0
+                return new OrderStats.Builder()
+                        .setOrderCount(rs.getInt(1))
+                        .setTotalRevenue(rs.getDouble(2))
+                        .setAverageTotal(rs.getDouble(3))
+                        .setMinTotal(rs.getDouble(4))
+                        .setMaxTotal(rs.getDouble(5))
+                        .build();
+            }
+        } catch (SQLException e) {
+            Log.error("Order Stats Failed: {}", e.getMessage());
+        }
+
+        return new OrderStats.Builder().build();
     }
 
     /**
      * Saves a new order to the 'COFFEE_ORDER' table using the provided
-     * {@link CreateOrderDto}. Upon successful insertion, it retrieves and returns
-     * the newly created {@link Order} entity, including its generated ID and
-     * associated customer and coffee details.
+     * {@link CreateOrderDto}. The returned {@link Order} is built by
+     * {@link #toOrder(Connection, int, CreateOrderDto, OrderParties)} from the DTO and the
+     * generated ID rather than re-selected with a three-table join.
      *
      * @param order The {@link CreateOrderDto} containing the details of the order
      *              to save.
@@ -164,35 +415,130 @@ public class OrderRepository implements IOrderRepository {
      */
     @Override
     public Order save(CreateOrderDto order) {
-        System.out.println("Saving order: " + order);
-        String sql = """
-                INSERT INTO COFFEE_ORDER (CUSTOMER_ID, COFFEE_ID, QUANTITY_ORDERED, TOTAL_PRICE)
-                VALUES (?, ?, ?, ?)
-                """;
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        OrderParties parties = lookUpParties(order);
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             setOrderProps(order, stmt);
             stmt.executeUpdate();
 
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
-                    int orderId = generatedKeys.getInt(1);
-                    Order foundOrder = findById(orderId);
-                    return foundOrder;
+                    return toOrder(connection, generatedKeys.getInt(1), order, parties);
                 }
             }
         } catch (SQLException e) {
-            System.out.println("Save Order Failed: " + e.getMessage());
+            Log.error("Save Order Failed: {}", e.getMessage());
             return null;
         }
         return null;
     }
 
+    /**
+     * Places an order in a single transaction: the order total is debited from
+     * the customer's credit with a conditional update, and the order is inserted
+     * only if the debit succeeded. Because the credit check is part of the
+     * update, two orders placed at the same time can never spend the same
+     * credit twice; the second one waits for the first to commit and then sees
+     * the reduced balance.
+     * <p>
+     * Nothing is read back except the customer's remaining credit, taken from
+     * the row the update has just locked. Derby has no {@code UPDATE ...
+     * RETURNING}, so this one-column read replaces re-selecting the order and the
+     * customer.
+     *
+     * @param order The {@link CreateOrderDto} containing the details of the order
+     *              to place.
+     * @return A {@link PlacedOrderDto} with the generated order ID and the
+     *         customer's remaining credit.
+     * @throws InsufficientCreditException If the update matched no row because
+     *                                     the customer's credit is lower than the
+     *                                     order total; nothing is written.
+     * @throws IllegalArgumentException    If the customer does not exist.
+     * @throws RuntimeException            If a database error occurs; nothing is
+     *                                     written.
+     */
+    @Override
+    public PlacedOrderDto placeOrder(CreateOrderDto order) {
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement debit = connection.prepareStatement(DEBIT_CREDIT_SQL)) {
+                debit.setDouble(1, order.getTotal());
+                debit.setInt(2, order.getCustomerId());
+                debit.setDouble(3, order.getTotal());
+                if (debit.executeUpdate() == 0) {
+                    Double credit = findCredit(connection, order.getCustomerId());
+                    connection.rollback();
+                    if (credit == null) {
+                        throw new IllegalArgumentException("Customer " + order.getCustomerId() + " not found");
+                    }
+                    throw new InsufficientCreditException(credit, order.getTotal());
+                }
+            }
+
+            int orderId;
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                setOrderProps(order, insert);
+                insert.executeUpdate();
+                try (ResultSet generatedKeys = insert.getGeneratedKeys()) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("No order ID was generated");
+                    }
+                    orderId = generatedKeys.getInt(1);
+                }
+            }
+
+            double remainingCredit = findCredit(connection, order.getCustomerId());
+            connection.commit();
+
+            return new PlacedOrderDto.Builder()
+                    .setOrderId(orderId)
+                    .setRemainingCredit(remainingCredit)
+                    .build();
+        } catch (SQLException e) {
+            // Closing the pooled connection rolls back the open transaction.
+            throw new RuntimeException("Place Order Failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads a customer's current credit on the given connection.
+     *
+     * @param connection The {@link Connection} to run the query on.
+     * @param customerId The ID of the customer.
+     * @return The customer's credit, or {@code null} if the customer does not
+     *         exist.
+     * @throws SQLException If a database error occurs.
+     */
+    private Double findCredit(Connection connection, int customerId) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(CREDIT_SQL)) {
+            stmt.setInt(1, customerId);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? rs.getDouble(1) : null;
+        }
+    }
+
+    /**
+     * Inserts all the given orders into the 'COFFEE_ORDER' table in a single
+     * batched transaction. Unlike {@link #save(CreateOrderDto)}, the inserted
+     * rows are not read back, which makes this the path for large seeds.
+     *
+     * @param orders The {@link CreateOrderDto}s to insert.
+     * @return The number of orders inserted.
+     * @throws SQLException If the insert fails; no orders are inserted in that
+     *                      case.
+     */
+    @Override
+    public int saveAll(List<CreateOrderDto> orders) throws SQLException {
+        return BatchInserter.insertAll(pool, "COFFEE_ORDER", INSERT_SQL, orders, this::setOrderProps);
+    }
+
     /**
      * Updates an existing order in the 'COFFEE_ORDER' table using the provided
      * {@link CreateOrderDto}. The {@code order} object must be an instance of
      * {@link UpdateOrderDto} to include the order's ID for the WHERE clause.
-     * Upon successful update, it retrieves and returns the updated {@link Order}
-     * entity with associated customer and coffee details.
+     * The returned {@link Order} is built by
+     * {@link #toOrder(Connection, int, CreateOrderDto, OrderParties)} rather than re-selected.
      *
      * @param order The {@link CreateOrderDto} (must be {@link UpdateOrderDto})
      *              containing the updated details of the order.
@@ -218,22 +564,77 @@ public class OrderRepository implements IOrderRepository {
                 WHERE ORDER_ID = ?
                 """;
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        OrderParties parties = lookUpParties(updateOrder);
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             setOrderProps(updateOrder, stmt);
             stmt.setInt(5, updateOrder.getOrderId());
-            stmt.executeUpdate();
-
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    int orderId = generatedKeys.getInt(1);
-                    return findById(orderId);
-                }
+            if (stmt.executeUpdate() == 0) {
+                return null;
             }
+
+            return toOrder(connection, updateOrder.getOrderId(), updateOrder, parties);
         } catch (SQLException e) {
-            System.out.println("Update Order Failed: " + e.getMessage());
+            Log.error("Update Order Failed: {}", e.getMessage());
             return null;
         }
-        return null;
+    }
+
+    /**
+     * Looks up the customer and coffee an order refers to in the customer and
+     * coffee repositories given to the constructor, which are expected to be
+     * served from their caches. This runs before the write borrows its
+     * connection: a lookup that misses the cache borrows a connection of its
+     * own, and writes that each hold one connection while waiting for another
+     * stall once every connection is taken. Nothing is looked up if those
+     * repositories were not given or if {@link AppConfig#DB_VERIFY_WRITES} is
+     * set.
+     *
+     * @param order The DTO about to be written.
+     * @return The customer and coffee, either of which may be {@code null}.
+     */
+    private OrderParties lookUpParties(CreateOrderDto order) {
+        if (AppConfig.DB_VERIFY_WRITES || customerRepository == null || coffeeRepository == null) {
+            return new OrderParties(null, null);
+        }
+        return new OrderParties(customerRepository.findById(order.getCustomerId()),
+                coffeeRepository.findById(order.getCoffeeId()));
+    }
+
+    /**
+     * Builds the {@link Order} a write returns without re-selecting it. The
+     * order's own columns come from the DTO, and the customer name and coffee
+     * details from the customer and coffee looked up before the write. If
+     * either of them is missing, the three-table join is run instead, on the
+     * connection the write already holds.
+     *
+     * @param connection The connection the write ran on.
+     * @param orderId    The ID of the written order.
+     * @param order      The DTO that was written.
+     * @param parties    The customer and coffee looked up before the write.
+     * @return The written {@link Order}.
+     * @throws SQLException If the fallback query fails.
+     */
+    private Order toOrder(Connection connection, int orderId, CreateOrderDto order, OrderParties parties)
+            throws SQLException {
+        Customer customer = parties.customer();
+        Coffee coffee = parties.coffee();
+        if (customer == null || coffee == null) {
+            return findById(connection, orderId);
+        }
+
+        OrderCustomerDto orderCustomer = new OrderCustomerDto.Builder()
+                .setCustomerId(customer.getCustomerId())
+                .setOrderId(orderId)
+                .setCustomerName(customer.getFirstName() + " " + customer.getLastName())
+                .build();
+
+        return new Order.Builder().setOrderId(orderId)
+                .setCustomer(orderCustomer)
+                .setCoffee(coffee.toOrderCoffeeDto(orderId))
+                .setTotal(order.getTotal())
+                .setQtyOrdered(order.getQtyOrdered())
+                .build();
     }
 
     /**
@@ -247,11 +648,12 @@ public class OrderRepository implements IOrderRepository {
     public boolean deleteById(int id) {
         String sql = "DELETE FROM COFFEE_ORDER WHERE ORDER_ID = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
         } catch (SQLException e) {
-            System.out.println("Delete by Id Failed: " + e.getMessage());
+            Log.error("Delete by Id Failed: {}", e.getMessage());
             return false;
         }
 
@@ -359,47 +761,52 @@ public class OrderRepository implements IOrderRepository {
     }
 
     /**
-     * Drops the 'COFFEE_ORDER' table from the database if it exists.
+     * Drops the 'COFFEE_ORDER' table from the database.
+     *
+     * @throws SQLException If the table does not exist or cannot be dropped.
+     */
+    @Override
+    public void dropTable() throws SQLException {
+        try (Connection connection = pool.getConnection();
+                Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("DROP TABLE COFFEE_ORDER");
+        }
+    }
+
+    /**
      * Creates the 'COFFEE_ORDER' table in the database with the necessary columns
-     * and constraints.
+     * and constraints, including the foreign keys to 'CUSTOMER' and 'COFFEE'.
      *
-     * @throws SQLException If a database error occurs during the table creation.
+     * @throws SQLException If the table cannot be created.
      */
     @Override
-    public void resetDatabase() {
-        String dropSQL = "DROP TABLE COFFEE_ORDER";
+    public void createTable() throws SQLException {
         String createSQL = """
                 CREATE TABLE COFFEE_ORDER (
                   ORDER_ID          INTEGER   GENERATED ALWAYS AS IDENTITY (START WITH 1, INCREMENT BY 1) CONSTRAINT PK_ORDER_ID PRIMARY KEY,
                   CUSTOMER_ID       INTEGER   NOT NULL,
                   COFFEE_ID         INTEGER   NOT NULL,
                   QUANTITY_ORDERED  DOUBLE    NOT NULL,
-                  TOTAL_PRICE       DOUBLE    NOT NULL
+                  TOTAL_PRICE       DOUBLE    NOT NULL,
+                  %s,
+                  %s
                 )
-                """;
-
-        try (Statement stmt = connection.createStatement()) {
-            stmt.executeUpdate(dropSQL);
-        } catch (SQLException ex) {
-            System.out.println("Failed to drop table COFFEE_ORDER: " + ex.getMessage());
-        }
+                """.formatted(CUSTOMER_FOREIGN_KEY, COFFEE_FOREIGN_KEY);
 
-        try (Statement stmt = connection.createStatement()) {
+        try (Connection connection = pool.getConnection();
+                Statement stmt = connection.createStatement()) {
             stmt.executeUpdate(createSQL);
-        } catch (SQLException ex) {
-            System.out.println("Failed to create table COFFEE_ORDER: " + ex.getMessage());
         }
     }
 
     /**
      * Populates the 'COFFEE_ORDER' table with the initial order data generated by
-     * {@link #createInitialOrders()}.
+     * {@link #createInitialOrders()} using a single batched insert.
+     *
+     * @throws SQLException If a database error occurs while inserting the orders.
      */
     @Override
-    public void populateDatabase() {
-        List<CreateOrderDto> orders = createInitialOrders();
-        for (CreateOrderDto order : orders) {
-            save(order);
-        }
+    public void populateDatabase() throws SQLException {
+        saveAll(createInitialOrders());
     }
 }
\ No newline at end of file
@@ -0,0 +1,482 @@
+package repositories;
+
+import Interfaces.ICoffeeRepository;
+import Interfaces.ICustomerRepository;
+import Interfaces.IOrderRepository;
+import Interfaces.IRepository;
+import config.AppConfig;
+import enums.DeleteRule;
+import utils.ConnectionPool;
+import utils.Log;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the database schema up to date without destroying data. The current
+ * schema version is stored in the 'SCHEMA_VERSION' table, and on startup only
+ * the migrations newer than that version are applied. When the schema is
+ * already current, startup costs a single query against 'SCHEMA_VERSION'.
+ * <p>
+ * A brand-new database is created with the latest table definitions from the
+ * repositories and seeded with the initial data. A database created before
+ * schema versioning existed is treated as version 1. Dropping and recreating
+ * the tables is only done through {@link #resetDatabase()}, which is an
+ * explicit admin action.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class SchemaMigrator {
+    // Derby's SQLState for "table/view does not exist"
+    private static final String TABLE_NOT_FOUND = "42X05";
+
+    /**
+     * A check run before a migration's statements, in the same transaction. It
+     * fails the migration by throwing, for data the migration cannot convert
+     * without losing it, or logs the rows the migration will affect.
+     */
+    @FunctionalInterface
+    private interface Precondition {
+        /**
+         * Checks the data a migration is about to change.
+         *
+         * @param connection The connection the migration runs on.
+         * @throws SQLException If the migration must not be applied.
+         */
+        void check(Connection connection) throws SQLException;
+    }
+
+    /**
+     * A schema change identified by its version number. Migrations are applied
+     * in version order, each in its own transaction together with the row that
+     * records it in 'SCHEMA_VERSION'.
+     *
+     * @param version      The schema version this migration brings the database
+     *                     to.
+     * @param description  A short description recorded in 'SCHEMA_VERSION'.
+     * @param precondition The check to run first, or {@code null} if there is
+     *                     none.
+     * @param statements   The DDL/DML statements to run.
+     */
+    private record Migration(int version, String description, Precondition precondition, String... statements) {
+    }
+
+    /**
+     * Every schema change, oldest first. Version 1 is the original schema, which
+     * the repositories create themselves. Add new migrations to the end of this
+     * list and update the repositories' table definitions to match, so fresh
+     * installs and upgraded databases end up with the same schema.
+     */
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Baseline CUSTOMER, COFFEE and COFFEE_ORDER tables", null),
+            new Migration(2, "Foreign keys from COFFEE_ORDER to CUSTOMER and COFFEE",
+                    SchemaMigrator::refuseOrphanedOrders,
+                    "ALTER TABLE COFFEE_ORDER ADD " + OrderRepository.CUSTOMER_FOREIGN_KEY,
+                    "ALTER TABLE COFFEE_ORDER ADD " + OrderRepository.COFFEE_FOREIGN_KEY),
+            // Only the oldest of several customers sharing an address gets it, as
+            // that is the one an email lookup found before. The others are logged.
+            new Migration(3, "Normalized, uniquely indexed CUSTOMER email", SchemaMigrator::logSharedEmails,
+                    "ALTER TABLE CUSTOMER ADD COLUMN EMAIL_NORMALIZED VARCHAR(50)",
+                    """
+                            UPDATE CUSTOMER C SET EMAIL_NORMALIZED = LOWER(TRIM(EMAIL_ADDRESS))
+                            WHERE CUSTOMER_ID = (SELECT MIN(D.CUSTOMER_ID) FROM CUSTOMER D
+                                                 WHERE LOWER(TRIM(D.EMAIL_ADDRESS)) = LOWER(TRIM(C.EMAIL_ADDRESS)))
+                            """,
+                    "ALTER TABLE CUSTOMER ADD CONSTRAINT UQ_CUSTOMER_EMAIL UNIQUE (EMAIL_NORMALIZED)"));
+
+    /**
+     * The foreign keys on 'COFFEE_ORDER' by constraint name, with the definitions
+     * that carry the configured delete rule.
+     */
+    private static final Map<String, String> ORDER_FOREIGN_KEYS = Map.of(
+            "FK_ORDER_CUSTOMER", OrderRepository.CUSTOMER_FOREIGN_KEY,
+            "FK_ORDER_COFFEE", OrderRepository.COFFEE_FOREIGN_KEY);
+
+    /**
+     * The schema version this build of the application expects.
+     */
+    public static final int CURRENT_VERSION = MIGRATIONS.getLast().version();
+
+    private final ConnectionPool pool;
+    private final ICustomerRepository customerRepository;
+    private final ICoffeeRepository coffeeRepository;
+    private final IOrderRepository orderRepository;
+
+    /**
+     * Constructs a new {@code SchemaMigrator}.
+     *
+     * @param pool               The {@link ConnectionPool} to borrow connections
+     *                           from.
+     * @param customerRepository The repository owning the 'CUSTOMER' table.
+     * @param coffeeRepository   The repository owning the 'COFFEE' table.
+     * @param orderRepository    The repository owning the 'COFFEE_ORDER' table.
+     */
+    public SchemaMigrator(ConnectionPool pool, ICustomerRepository customerRepository,
+            ICoffeeRepository coffeeRepository, IOrderRepository orderRepository) {
+        this.pool = pool;
+        this.customerRepository = customerRepository;
+        this.coffeeRepository = coffeeRepository;
+        this.orderRepository = orderRepository;
+    }
+
+    /**
+     * Brings the database schema up to {@link #CURRENT_VERSION}. Creates and
+     * seeds the tables on a new database, and applies any missing migrations on
+     * an existing one. Running it again on a current database changes nothing.
+     *
+     * @return The schema version after migrating.
+     * @throws SQLException If the version cannot be read or a migration fails.
+     */
+    public int migrate() throws SQLException {
+        long start = System.nanoTime();
+        int version = readVersion();
+        boolean installed = false;
+
+        if (version < 0) {
+            version = install();
+            installed = true;
+        }
+
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version() > version) {
+                apply(migration);
+                version = migration.version();
+                Log.info("Applied schema migration {}: {}", version, migration.description());
+            }
+        }
+        syncOrderDeleteRule();
+
+        Log.info("Database schema at version {}{} ({} ms)",
+                version, installed ? ", newly installed" : "", (System.nanoTime() - start) / 1_000_000);
+        return version;
+    }
+
+    /**
+     * Drops and recreates every table with the current schema, leaving them
+     * empty. The schema version is unchanged since the recreated tables already
+     * match it. 'COFFEE_ORDER' is dropped first and created last, since its
+     * foreign keys reference the other two tables. A table that is missing,
+     * for example after an earlier reset failed part way, is only created.
+     *
+     * @throws SQLException If a table cannot be dropped or created.
+     */
+    public void resetDatabase() throws SQLException {
+        dropTables();
+        createTables();
+    }
+
+    /**
+     * Seeds every table with its initial data. Customers and coffees are seeded
+     * before the orders that reference them.
+     *
+     * @throws SQLException If a table cannot be populated.
+     */
+    public void populateDatabase() throws SQLException {
+        customerRepository.populateDatabase();
+        coffeeRepository.populateDatabase();
+        orderRepository.populateDatabase();
+    }
+
+    /**
+     * Reads the current schema version.
+     *
+     * @return The highest applied version, or {@code -1} if the database has no
+     *         version information yet.
+     * @throws SQLException If a database error other than a missing table occurs.
+     */
+    private int readVersion() throws SQLException {
+        String sql = "SELECT MAX(VERSION) FROM SCHEMA_VERSION";
+        try (Connection connection = pool.getConnection();
+                PreparedStatement stmt = connection.prepareStatement(sql);
+                ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                int version = rs.getInt(1);
+                return rs.wasNull() ? -1 : version;
+            }
+            return -1;
+        } catch (SQLException e) {
+            if (TABLE_NOT_FOUND.equals(e.getSQLState())) {
+                return -1;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Sets up version tracking on a database that has none. If the application
+     * tables already exist they are recorded as version 1; otherwise they are
+     * created at the current version and seeded.
+     *
+     * @return The schema version of the database after installing.
+     * @throws SQLException If the tables cannot be created.
+     */
+    private int install() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            if (!tableExists(connection, "SCHEMA_VERSION")) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.executeUpdate("""
+                            CREATE TABLE SCHEMA_VERSION (
+                              VERSION       INTEGER       NOT NULL CONSTRAINT PK_SCHEMA_VERSION PRIMARY KEY,
+                              DESCRIPTION   VARCHAR(255)  NOT NULL,
+                              APPLIED_AT    TIMESTAMP     DEFAULT CURRENT_TIMESTAMP NOT NULL
+                            )
+                            """);
+                }
+            }
+
+            if (tableExists(connection, "CUSTOMER")) {
+                recordVersions(connection, MIGRATIONS.subList(0, 1));
+                return 1;
+            }
+        }
+
+        // Nothing to drop on a new database, so the tables are created directly.
+        // If that fails, the tables created here are dropped again so the next
+        // start installs from scratch instead of finding a half-created schema.
+        List<IRepository<?, ?>> created = new ArrayList<>();
+        try {
+            for (IRepository<?, ?> repository : List.of(customerRepository, coffeeRepository, orderRepository)) {
+                repository.createTable();
+                created.add(repository);
+            }
+            populateDatabase();
+        } catch (SQLException e) {
+            for (IRepository<?, ?> repository : created.reversed()) {
+                try {
+                    repository.dropTable();
+                } catch (SQLException cleanup) {
+                    e.addSuppressed(cleanup);
+                }
+            }
+            throw e;
+        }
+
+        try (Connection connection = pool.getConnection()) {
+            recordVersions(connection, MIGRATIONS);
+        }
+        return CURRENT_VERSION;
+    }
+
+    /**
+     * Creates every table with the current schema. 'COFFEE_ORDER' is created
+     * last, since its foreign keys reference the other two tables.
+     *
+     * @throws SQLException If a table cannot be created.
+     */
+    private void createTables() throws SQLException {
+        customerRepository.createTable();
+        coffeeRepository.createTable();
+        orderRepository.createTable();
+    }
+
+    /**
+     * Drops the application tables that exist. 'COFFEE_ORDER' is dropped first,
+     * since its foreign keys reference the other two tables.
+     *
+     * @throws SQLException If a table cannot be dropped.
+     */
+    private void dropTables() throws SQLException {
+        boolean orders;
+        boolean customers;
+        boolean coffees;
+        try (Connection connection = pool.getConnection()) {
+            orders = tableExists(connection, "COFFEE_ORDER");
+            customers = tableExists(connection, "CUSTOMER");
+            coffees = tableExists(connection, "COFFEE");
+        }
+        if (orders) {
+            orderRepository.dropTable();
+        }
+        if (customers) {
+            customerRepository.dropTable();
+        }
+        if (coffees) {
+            coffeeRepository.dropTable();
+        }
+    }
+
+    /**
+     * Makes the delete rule of the 'COFFEE_ORDER' foreign keys match
+     * {@link AppConfig#DB_ORDER_DELETE_RULE}. A foreign key's rule cannot be
+     * altered in place, so each one that differs is dropped and added again, all
+     * in one transaction. When the rules already match this is a single catalog
+     * query.
+     *
+     * @throws SQLException If the catalog cannot be read or a constraint cannot
+     *                      be replaced; the change is rolled back.
+     */
+    private void syncOrderDeleteRule() throws SQLException {
+        String sql = """
+                SELECT C.CONSTRAINTNAME, F.DELETERULE FROM SYS.SYSCONSTRAINTS C
+                JOIN SYS.SYSFOREIGNKEYS F ON C.CONSTRAINTID = F.CONSTRAINTID
+                JOIN SYS.SYSTABLES T ON C.TABLEID = T.TABLEID
+                WHERE T.TABLENAME = 'COFFEE_ORDER'
+                """;
+        DeleteRule rule = AppConfig.DB_ORDER_DELETE_RULE;
+
+        try (Connection connection = pool.getConnection()) {
+            List<String> outdated = new ArrayList<>();
+            try (PreparedStatement stmt = connection.prepareStatement(sql);
+                    ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+                    if (ORDER_FOREIGN_KEYS.containsKey(name) && !rule.getCatalogCode().equals(rs.getString(2))) {
+                        outdated.add(name);
+                    }
+                }
+            }
+            if (outdated.isEmpty()) {
+                return;
+            }
+
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement()) {
+                for (String name : outdated) {
+                    stmt.executeUpdate("ALTER TABLE COFFEE_ORDER DROP CONSTRAINT " + name);
+                    stmt.executeUpdate("ALTER TABLE COFFEE_ORDER ADD " + ORDER_FOREIGN_KEYS.get(name));
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+            Log.info("Order delete rule set to {} on {}", rule.getSql(), String.join(", ", outdated));
+        }
+    }
+
+    /**
+     * Applies a single migration and records it, all in one transaction.
+     *
+     * @param migration The migration to apply.
+     * @throws SQLException If any statement fails; the migration is rolled back.
+     */
+    private void apply(Migration migration) throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            if (migration.precondition() != null) {
+                migration.precondition().check(connection);
+            }
+            try (Statement stmt = connection.createStatement()) {
+                for (String sql : migration.statements()) {
+                    stmt.executeUpdate(sql);
+                }
+            }
+            recordVersions(connection, List.of(migration));
+            connection.commit();
+        }
+    }
+
+    /**
+     * Stops the foreign key migration while orders refer to a customer or coffee
+     * that no longer exists, since the keys cannot be added over them. The
+     * orders are left for an admin to delete or correct, rather than being
+     * deleted by the migration.
+     *
+     * @param connection The connection the migration runs on.
+     * @throws SQLException If there are such orders; the message lists their
+     *                      IDs.
+     */
+    private static void refuseOrphanedOrders(Connection connection) throws SQLException {
+        List<Integer> orphans = findIds(connection, """
+                SELECT ORDER_ID FROM COFFEE_ORDER
+                WHERE CUSTOMER_ID NOT IN (SELECT CUSTOMER_ID FROM CUSTOMER)
+                   OR COFFEE_ID NOT IN (SELECT COFFEE_ID FROM COFFEE)
+                ORDER BY ORDER_ID
+                """);
+        if (!orphans.isEmpty()) {
+            throw new SQLException(String.format(
+                    "Cannot add the COFFEE_ORDER foreign keys: %d orders refer to a customer or coffee that"
+                            + " no longer exists (ORDER_ID %s). Delete or correct them and start again.",
+                    orphans.size(), joinIds(orphans)));
+        }
+    }
+
+    /**
+     * Logs the customers that will lose the ability to log in when the email
+     * column is added: those sharing an email, ignoring case and surrounding
+     * spaces, with an older customer, who keeps it. Their rows are kept, but
+     * lookups by email no longer find them.
+     *
+     * @param connection The connection the migration runs on.
+     * @throws SQLException If the customers cannot be read.
+     */
+    private static void logSharedEmails(Connection connection) throws SQLException {
+        List<Integer> shadowed = findIds(connection, """
+                SELECT C.CUSTOMER_ID FROM CUSTOMER C
+                WHERE C.CUSTOMER_ID > (SELECT MIN(D.CUSTOMER_ID) FROM CUSTOMER D
+                                       WHERE LOWER(TRIM(D.EMAIL_ADDRESS)) = LOWER(TRIM(C.EMAIL_ADDRESS)))
+                ORDER BY C.CUSTOMER_ID
+                """);
+        if (!shadowed.isEmpty()) {
+            Log.warn("{} customers share an email with an older customer and can no longer log in"
+                    + " (CUSTOMER_ID {})", shadowed.size(), joinIds(shadowed));
+        }
+    }
+
+    /**
+     * Lists IDs for a message.
+     *
+     * @param ids The IDs.
+     * @return The IDs separated by commas.
+     */
+    private static String joinIds(List<Integer> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Runs a query and collects the integer IDs in its first column.
+     *
+     * @param connection The connection to query on.
+     * @param sql        The query.
+     * @return The IDs, in the order the query returned them.
+     * @throws SQLException If the query fails.
+     */
+    private static List<Integer> findIds(Connection connection, String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(sql);
+                ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Inserts a 'SCHEMA_VERSION' row for each of the given migrations.
+     *
+     * @param connection The connection to insert on.
+     * @param migrations The migrations to record.
+     * @throws SQLException If the insert fails.
+     */
+    private void recordVersions(Connection connection, List<Migration> migrations) throws SQLException {
+        String sql = "INSERT INTO SCHEMA_VERSION (VERSION, DESCRIPTION) VALUES (?, ?)";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (Migration migration : migrations) {
+                stmt.setInt(1, migration.version());
+                stmt.setString(2, migration.description());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Checks whether a table exists in the default schema.
+     *
+     * @param connection The connection to inspect.
+     * @param table      The table name, in upper case.
+     * @return {@code true} if the table exists.
+     * @throws SQLException If the database metadata cannot be read.
+     */
+    private boolean tableExists(Connection connection, String table) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getTables(null, null, table, new String[] { "TABLE" })) {
+            return rs.next();
+        }
+    }
+}
@@ -5,8 +5,8 @@ import Interfaces.ICoffeeService;
 import dto.CreateCoffeeDto;
 import dto.UpdateCoffeeDto;
 import entites.Coffee;
+import enums.SortDirection;
 
-import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -44,6 +44,47 @@ public class CoffeeService implements ICoffeeService {
         return this.coffeeRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of {@link Coffee} entities following the given ID. This
+     * method delegates the operation to the
+     * {@link ICoffeeRepository#findPage(int, int, SortDirection)} method.
+     *
+     * @param afterId The ID of the last coffee on the previous page, or
+     *                {@link SortDirection#getFirstKey()} for the first page.
+     * @param limit   The maximum number of coffees to return.
+     * @param sort    The direction to read the IDs in.
+     * @return A {@code List} of at most {@code limit} {@link Coffee} entities.
+     */
+    @Override
+    public List<Coffee> getCoffeesPage(int afterId, int limit, SortDirection sort) {
+        return this.coffeeRepository.findPage(afterId, limit, sort);
+    }
+
+    /**
+     * Counts the {@link Coffee} entities. This method delegates the operation to
+     * the {@link ICoffeeRepository#count()} method.
+     *
+     * @return The number of coffees.
+     */
+    @Override
+    public int getCoffeeCount() {
+        return this.coffeeRepository.count();
+    }
+
+    /**
+     * Finds the ID of the {@link Coffee} at a position in ID order. This method
+     * delegates the operation to the
+     * {@link ICoffeeRepository#findIdAt(int, SortDirection)} method.
+     *
+     * @param offset The zero-based position of the coffee.
+     * @param sort   The direction the IDs are ordered in.
+     * @return The ID at that position, or {@code -1} if there is none.
+     */
+    @Override
+    public int getCoffeeIdAt(int offset, SortDirection sort) {
+        return this.coffeeRepository.findIdAt(offset, sort);
+    }
+
     /**
      * Retrieves a specific {@link Coffee} entity by its ID. This method delegates
      * the operation to the {@link ICoffeeRepository#findById(int)} method.
@@ -98,28 +139,4 @@ public class CoffeeService implements ICoffeeService {
     public boolean deleteCoffee(int id) {
         return this.coffeeRepository.deleteById(id);
     }
-
-    /**
-     * Resets the underlying data store for coffees. This method delegates the
-     * operation to the {@link ICoffeeRepository#resetDatabase()} method.
-     *
-     * @throws SQLException If a database error occurs during the reset operation.
-     */
-    @Override
-    public void resetDatabase() throws SQLException {
-        this.coffeeRepository.resetDatabase();
-    }
-
-    /**
-     * Populates the underlying data store with initial coffee data. This method
-     * delegates the operation to the {@link ICoffeeRepository#populateDatabase()}
-     * method.
-     *
-     * @throws SQLException If a database error occurs during the population
-     *                      operation.
-     */
-    @Override
-    public void populateDatabase() throws SQLException {
-        this.coffeeRepository.populateDatabase();
-    }
 }
\ No newline at end of file
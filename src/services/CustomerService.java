@@ -5,9 +5,9 @@ import Interfaces.ICustomerService;
 import dto.CreateCustomerDto;
 import dto.UpdateCustomerDto;
 import entites.Customer;
+import enums.SortDirection;
 import stores.AuthStore;
 
-import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -24,6 +24,11 @@ import java.util.List;
 
 public class CustomerService implements ICustomerService {
 
+    /**
+     * The highest credit limit a customer may reach by adding credit.
+     */
+    public static final double MAX_CREDIT_LIMIT = 100.00;
+
     private final ICustomerRepository customerRepository;
 
     /**
@@ -48,6 +53,47 @@ public class CustomerService implements ICustomerService {
         return this.customerRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of {@link Customer} entities following the given ID. This
+     * method delegates the operation to the
+     * {@link ICustomerRepository#findPage(int, int, SortDirection)} method.
+     *
+     * @param afterId The ID of the last customer on the previous page, or
+     *                {@link SortDirection#getFirstKey()} for the first page.
+     * @param limit   The maximum number of customers to return.
+     * @param sort    The direction to read the IDs in.
+     * @return A {@code List} of at most {@code limit} {@link Customer} entities.
+     */
+    @Override
+    public List<Customer> getCustomersPage(int afterId, int limit, SortDirection sort) {
+        return this.customerRepository.findPage(afterId, limit, sort);
+    }
+
+    /**
+     * Counts the {@link Customer} entities. This method delegates the operation to
+     * the {@link ICustomerRepository#count()} method.
+     *
+     * @return The number of customers.
+     */
+    @Override
+    public int getCustomerCount() {
+        return this.customerRepository.count();
+    }
+
+    /**
+     * Finds the ID of the {@link Customer} at a position in ID order. This method
+     * delegates the operation to the
+     * {@link ICustomerRepository#findIdAt(int, SortDirection)} method.
+     *
+     * @param offset The zero-based position of the customer.
+     * @param sort   The direction the IDs are ordered in.
+     * @return The ID at that position, or {@code -1} if there is none.
+     */
+    @Override
+    public int getCustomerIdAt(int offset, SortDirection sort) {
+        return this.customerRepository.findIdAt(offset, sort);
+    }
+
     /**
      * Retrieves a specific {@link Customer} entity by its ID. This method delegates
      * the operation to the {@link ICustomerRepository#findById(int)} method.
@@ -104,6 +150,23 @@ public class CustomerService implements ICustomerService {
         return this.customerRepository.update(customer);
     }
 
+    /**
+     * Adds credit to a customer. This method delegates the operation to the
+     * {@link ICustomerRepository#addCredit(int, double, double)} method, which
+     * adds to the stored balance in one statement, so a top-up made while an
+     * order is being placed does not undo the order's debit.
+     *
+     * @param customerId The ID of the customer to top up.
+     * @param amount     The amount to add.
+     * @return The updated {@link Customer}, or {@code null} if the customer does
+     *         not exist or the new credit limit would exceed
+     *         {@link #MAX_CREDIT_LIMIT}.
+     */
+    @Override
+    public Customer addCredit(int customerId, double amount) {
+        return this.customerRepository.addCredit(customerId, amount, MAX_CREDIT_LIMIT);
+    }
+
     /**
      * Deletes a {@link Customer} entity by its ID. This method delegates the delete
      * operation to the {@link ICustomerRepository#deleteById(int)} method.
@@ -117,30 +180,6 @@ public class CustomerService implements ICustomerService {
         return this.customerRepository.deleteById(id);
     }
 
-    /**
-     * Resets the underlying data store for customers. This method delegates the
-     * operation to the {@link ICustomerRepository#resetDatabase()} method.
-     *
-     * @throws SQLException If a database error occurs during the reset operation.
-     */
-    @Override
-    public void resetDatabase() throws SQLException {
-        this.customerRepository.resetDatabase();
-    }
-
-    /**
-     * Populates the underlying data store with initial customer data. This method
-     * delegates the operation to the {@link ICustomerRepository#populateDatabase()}
-     * method.
-     *
-     * @throws SQLException If a database error occurs during the population
-     *                      operation.
-     */
-    @Override
-    public void populateDatabase() throws SQLException {
-        this.customerRepository.populateDatabase();
-    }
-
     /**
      * Authenticates a customer by their email address. If a customer with the
      * provided email exists, their information is stored in the {@link AuthStore}.
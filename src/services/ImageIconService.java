@@ -3,11 +3,15 @@ package services;
 import java.awt.Image;
 import java.io.File;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.swing.ImageIcon;
 
 /**
- * Service class for handling image icons
+ * Service class for handling image icons. Loaded icons are cached by path, so
+ * each image is read from disk only once and can be loaded ahead of time with
+ * {@link #preload()}.
  * 
  * 
  * @author Ian Frye
@@ -17,14 +21,29 @@ import javax.swing.ImageIcon;
 public class ImageIconService {
   // The path to the default logo image icon
   private static final String DEFAULT_LOGO_PATH = "src/assets/images/logo.png";
+  // The path to the window icon shown on every view
+  private static final String APP_ICON_PATH = "src/assets/images/icon.png";
+  private static final Map<String, ImageIcon> CACHE = new ConcurrentHashMap<>();
 
   /**
-   * Get an image icon from a given path
+   * Get an image icon from a given path, loading it on first use
    * 
    * @param path The path to the image icon
-   * @return The image icon
+   * @return The image icon, or {@code null} if it could not be found
    */
   public static ImageIcon getImageIcon(String path) {
+    // A missing icon is not cached, so it is looked for again next time
+    return CACHE.computeIfAbsent(path, ImageIconService::loadImageIcon);
+  }
+
+  /**
+   * Load an image icon from a given path, either from the classpath or from
+   * the file system
+   * 
+   * @param path The path to the image icon
+   * @return The image icon, or {@code null} if it could not be found
+   */
+  private static ImageIcon loadImageIcon(String path) {
     ImageIcon icon = null;
     try {
       URL imageUrl = ImageIconService.class.getResource(path);
@@ -53,6 +72,24 @@ public class ImageIconService {
     return getImageIcon(DEFAULT_LOGO_PATH);
   }
 
+  /**
+   * Get the window icon shown on every view
+   * 
+   * @return The application icon image icon
+   */
+  public static ImageIcon getAppIcon() {
+    return getImageIcon(APP_ICON_PATH);
+  }
+
+  /**
+   * Load the default logo and the application icon into the cache, so the
+   * first view does not have to wait for them
+   */
+  public static void preload() {
+    getImageIcon();
+    getAppIcon();
+  }
+
   /**
    * Resize an image icon to a new width and height
    * 
@@ -1,24 +1,31 @@
 package services;
 
+import Interfaces.ICoffeeRepository;
 import Interfaces.ICustomerRepository;
 import Interfaces.IOrderRepository;
 import Interfaces.IOrderService;
 import dto.CreateOrderDto;
+import dto.OrderCustomerDto;
+import dto.OrderHistoryRow;
+import dto.OrderStats;
+import dto.PlacedOrderDto;
 import dto.UpdateCustomerDto;
 import dto.UpdateOrderDto;
+import entites.Coffee;
 import entites.Customer;
 import entites.Order;
+import exceptions.InsufficientCreditException;
+import enums.SortDirection;
 import stores.AuthStore;
 
-import java.sql.SQLException;
 import java.util.List;
 
 /**
  * Implements the {@link IOrderService} interface to provide business logic
- * for managing {@link Order} entities. This service interacts with both the
- * {@link IOrderRepository} for order data access and the
- * {@link ICustomerRepository} to update customer information upon order
- * creation.
+ * for managing {@link Order} entities. This service interacts with the
+ * {@link IOrderRepository} for order data access, and with the
+ * {@link ICustomerRepository} and {@link ICoffeeRepository} to describe the
+ * customer and coffee of a newly placed order.
  * 
  * @author Ian Frye
  * @version 1.0
@@ -29,19 +36,24 @@ public class OrderService implements IOrderService {
 
     private final IOrderRepository orderRepository;
     private final ICustomerRepository customerRepository;
+    private final ICoffeeRepository coffeeRepository;
 
     /**
-     * Constructs a new {@code OrderService} with the specified order and customer
-     * repositories.
+     * Constructs a new {@code OrderService} with the specified order, customer
+     * and coffee repositories.
      *
      * @param orderRepository    The {@link IOrderRepository} to be used for order
      *                           data access.
      * @param customerRepository The {@link ICustomerRepository} to be used for
      *                           customer data access.
+     * @param coffeeRepository   The {@link ICoffeeRepository} to be used for
+     *                           coffee data access.
      */
-    public OrderService(IOrderRepository orderRepository, ICustomerRepository customerRepository) {
+    public OrderService(IOrderRepository orderRepository, ICustomerRepository customerRepository,
+            ICoffeeRepository coffeeRepository) {
         this.orderRepository = orderRepository;
         this.customerRepository = customerRepository;
+        this.coffeeRepository = coffeeRepository;
     }
 
     /**
@@ -55,6 +67,47 @@ public class OrderService implements IOrderService {
         return this.orderRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of {@link Order} entities following the given ID. This
+     * method delegates the operation to the
+     * {@link IOrderRepository#findPage(int, int, SortDirection)} method.
+     *
+     * @param afterId The ID of the last order on the previous page, or
+     *                {@link SortDirection#getFirstKey()} for the first page.
+     * @param limit   The maximum number of orders to return.
+     * @param sort    The direction to read the IDs in.
+     * @return A {@code List} of at most {@code limit} {@link Order} entities.
+     */
+    @Override
+    public List<Order> getOrdersPage(int afterId, int limit, SortDirection sort) {
+        return this.orderRepository.findPage(afterId, limit, sort);
+    }
+
+    /**
+     * Counts the {@link Order} entities. This method delegates the operation to
+     * the {@link IOrderRepository#count()} method.
+     *
+     * @return The number of orders.
+     */
+    @Override
+    public int getOrderCount() {
+        return this.orderRepository.count();
+    }
+
+    /**
+     * Finds the ID of the {@link Order} at a position in ID order. This method
+     * delegates the operation to the
+     * {@link IOrderRepository#findIdAt(int, SortDirection)} method.
+     *
+     * @param offset The zero-based position of the order.
+     * @param sort   The direction the IDs are ordered in.
+     * @return The ID at that position, or {@code -1} if there is none.
+     */
+    @Override
+    public int getOrderIdAt(int offset, SortDirection sort) {
+        return this.orderRepository.findIdAt(offset, sort);
+    }
+
     /**
      * Retrieves a specific {@link Order} entity by its ID. This method delegates
      * the operation to the {@link IOrderRepository#findById(int)} method.
@@ -69,44 +122,95 @@ public class OrderService implements IOrderService {
     }
 
     /**
-     * Retrieves all {@link Order} entities associated with a specific customer ID.
-     * This method delegates the operation to the
-     * {@link IOrderRepository#findByCustomerId(int)} method.
+     * Retrieves the complete order history of a customer, newest order first.
+     *
+     * @param customerId The ID of the customer whose orders are to be retrieved.
+     * @return A {@code List} of {@link OrderHistoryRow}s for the given customer ID.
+     */
+    @Override
+    public List<OrderHistoryRow> getOrderHistory(int customerId) {
+        return getOrderHistory(customerId, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Retrieves part of a customer's order history, newest order first. This
+     * method delegates the operation to the
+     * {@link IOrderRepository#findByCustomerId(int, int, int)} method.
      *
      * @param customerId The ID of the customer whose orders are to be retrieved.
-     * @return A {@code List} of {@link Order} entities for the given customer ID.
+     * @param offset     The number of newer orders to skip.
+     * @param limit      The maximum number of orders to return.
+     * @return A {@code List} of at most {@code limit} {@link OrderHistoryRow}s.
+     */
+    @Override
+    public List<OrderHistoryRow> getOrderHistory(int customerId, int offset, int limit) {
+        return this.orderRepository.findByCustomerId(customerId, offset, limit);
+    }
+
+    /**
+     * Retrieves the order count and order total statistics. This method delegates
+     * the operation to the {@link IOrderRepository#getStats()} method.
+     *
+     * @return The {@link OrderStats} over all orders.
      */
     @Override
-    public List<Order> getOrdersByCustomerId(int customerId) {
-        return this.orderRepository.findByCustomerId(customerId);
+    public OrderStats getOrderStats() {
+        return this.orderRepository.getStats();
     }
 
     /**
-     * Creates a new {@link Order} entity using the provided {@link CreateOrderDto}.
-     * After successfully saving the order using the {@link IOrderRepository},
-     * this method updates the credit limit of the associated customer by deducting
-     * the total price of the order. It then returns the newly created
-     * {@link Order}.
+     * Places a new {@link Order} using the provided {@link CreateOrderDto}. The
+     * customer's credit is debited and the order is inserted in one transaction
+     * by {@link IOrderRepository#placeOrder(CreateOrderDto)}, which fails without
+     * writing anything if the customer's credit does not cover the total.
+     * <p>
+     * The returned order is built from the DTO, the generated order ID and the
+     * ordered coffee rather than read back from the database. When the order is
+     * for the logged-in customer, the customer in the {@link AuthStore} is
+     * replaced with a copy holding the remaining credit. Any cached copy of the
+     * customer is evicted, since the debit bypasses the customer repository.
      *
      * @param order The {@link CreateOrderDto} containing the details of the order
      *              to create.
      * @return The newly created {@link Order} entity.
+     * @throws InsufficientCreditException If the customer's credit is lower than
+     *                                     the order total.
      */
     @Override
     public Order createOrder(CreateOrderDto order) {
-        // save the order
-        Order newOrder = this.orderRepository.save(order);
-        // Get the customer the order is associated with
-        Customer orderCustomer = this.customerRepository.findById(order.getCustomerId());
-        // Update the customer's credit limit
-        UpdateCustomerDto dto = UpdateCustomerDto.fromCustomer(orderCustomer);
-        dto.setCreditLimit(orderCustomer.getCreditLimit() - order.getTotal());
-        Customer updatedCustomer = this.customerRepository.update(dto);
-        // reset the customer in the auth store
-
-        System.out.println("Updated customer: " + updatedCustomer);
-        AuthStore.getInstance().set(updatedCustomer);
-        // return the order
+        Customer customer = AuthStore.getInstance().get();
+        if (customer == null || customer.getCustomerId() != order.getCustomerId()) {
+            customer = this.customerRepository.findById(order.getCustomerId());
+        }
+        Coffee coffee = this.coffeeRepository.findById(order.getCoffeeId());
+        if (customer == null || coffee == null) {
+            throw new IllegalArgumentException("Order must reference an existing customer and coffee");
+        }
+
+        PlacedOrderDto placed = this.orderRepository.placeOrder(order);
+        this.customerRepository.evict(order.getCustomerId());
+
+        OrderCustomerDto orderCustomer = new OrderCustomerDto.Builder()
+                .setOrderId(placed.getOrderId())
+                .setCustomerId(customer.getCustomerId())
+                .setCustomerName(customer.getFirstName() + " " + customer.getLastName())
+                .build();
+
+        Order newOrder = new Order.Builder()
+                .setOrderId(placed.getOrderId())
+                .setCustomer(orderCustomer)
+                .setCoffee(coffee.toOrderCoffeeDto(placed.getOrderId()))
+                .setTotal(order.getTotal())
+                .setQtyOrdered(order.getQtyOrdered())
+                .build();
+
+        Customer loggedIn = AuthStore.getInstance().get();
+        if (loggedIn != null && loggedIn.getCustomerId() == order.getCustomerId()) {
+            UpdateCustomerDto updated = UpdateCustomerDto.fromCustomer(loggedIn);
+            updated.setCreditLimit(placed.getRemainingCredit());
+            AuthStore.getInstance().set(updated.toCustomer());
+        }
+
         return newOrder;
     }
 
@@ -136,28 +240,4 @@ public class OrderService implements IOrderService {
     public boolean deleteOrder(int id) {
         return this.orderRepository.deleteById(id);
     }
-
-    /**
-     * Resets the underlying data store for orders. This method delegates the
-     * operation to the {@link IOrderRepository#resetDatabase()} method.
-     *
-     * @throws SQLException If a database error occurs during the reset operation.
-     */
-    @Override
-    public void resetDatabase() throws SQLException {
-        this.orderRepository.resetDatabase();
-    }
-
-    /**
-     * Populates the underlying data store with initial order data. This method
-     * delegates the operation to the {@link IOrderRepository#populateDatabase()}
-     * method.
-     *
-     * @throws SQLException If a database error occurs during the population
-     *                      operation.
-     */
-    @Override
-    public void populateDatabase() throws SQLException {
-        this.orderRepository.populateDatabase();
-    }
 }
\ No newline at end of file
@@ -1,9 +1,26 @@
 package stores;
 
+import java.awt.Component;
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.JComponent;
+import javax.swing.RootPaneContainer;
+import javax.swing.SwingUtilities;
 
 import Interfaces.IStore;
+import Interfaces.IStoreListener;
+import utils.Log;
 
 /**
  * A generic class that implements the {@link IStore} interface to provide a
@@ -11,17 +28,64 @@ import Interfaces.IStore;
  * and allows components to subscribe to changes in this state. When the state
  * is updated (via {@code set()} or {@code clear()}), all subscribed listeners
  * are notified.
+ * <p>
+ * The store may be updated from any thread, and {@code get()} returns the new
+ * state as soon as {@code set()} returns. Listeners run later on the Swing
+ * event thread, once per batch: updates made before the listeners get to run
+ * are combined into a single {@link StoreChange} from the state listeners last
+ * saw to the latest one. Listeners may subscribe or unsubscribe while a change
+ * is being delivered.
+ * <p>
+ * Views should subscribe with {@link #subscribe(Component, IStoreListener)},
+ * which ties the subscription to the view instead of the store. The store only
+ * holds it weakly, so a view that is gone is never kept in memory by a store,
+ * and the subscription ends when the view's window is closed or the view is
+ * garbage collected. {@link #report()} lists the live listeners of every store,
+ * so a listener count that keeps growing over a long session is easy to spot.
  *
  * @author Ian Frye
  * @version 1.0
  * @since 2025-04-20
- * 
+ *
  * @param <T> The type of the state being managed by the store.
  */
 
 public class Store<T> implements IStore<T> {
   private T state;
-  private final List<Runnable> listeners = new ArrayList<>();
+  private long version;
+  // The state listeners last saw, and how many updates they have not seen yet
+  private T deliveredState;
+  private int pendingUpdates;
+  private final List<IStoreListener<T>> listeners = new CopyOnWriteArrayList<>();
+  private final List<Runnable> runnableListeners = new CopyOnWriteArrayList<>();
+  private final List<OwnedListener<T>> ownedListeners = new CopyOnWriteArrayList<>();
+  private final AtomicLong expiredListeners = new AtomicLong();
+
+  // Every store created, for report(); a store nobody uses can still be collected
+  private static final Set<Store<?>> STORES = Collections.newSetFromMap(new WeakHashMap<>());
+  // The client property an owner keeps its listeners alive with
+  private static final Object OWNED_LISTENERS_KEY = new Object();
+
+  /**
+   * A listener tied to a component. The store holds both weakly; the owner
+   * holds the listener strongly, so the listener lives exactly as long as the
+   * owner does.
+   *
+   * @param owner    The component the subscription belongs to.
+   * @param listener The listener.
+   * @param <T>      The type of the state.
+   */
+  private record OwnedListener<T>(WeakReference<Component> owner, WeakReference<IStoreListener<T>> listener) {
+  }
+
+  /**
+   * Constructs a new, empty {@code Store} and adds it to the {@link #report()}.
+   */
+  public Store() {
+    synchronized (STORES) {
+      STORES.add(this);
+    }
+  }
 
   /**
    * Sets the current state of the store to the provided value and notifies all
@@ -31,8 +95,7 @@ public class Store<T> implements IStore<T> {
    */
   @Override
   public void set(T t) {
-    this.state = t;
-    notifyListeners();
+    update(t);
   }
 
   /**
@@ -41,8 +104,7 @@ public class Store<T> implements IStore<T> {
    */
   @Override
   public void clear() {
-    this.state = null;
-    notifyListeners();
+    update(null);
   }
 
   /**
@@ -52,21 +114,32 @@ public class Store<T> implements IStore<T> {
    *         clear.
    */
   @Override
-  public T get() {
+  public synchronized T get() {
     return state;
   }
 
+  /**
+   * Returns the number of times the state has been set or cleared.
+   *
+   * @return The current version.
+   */
+  @Override
+  public synchronized long getVersion() {
+    return version;
+  }
+
   /**
    * Subscribes a {@link Runnable} listener to be notified whenever the state of
-   * the store changes. The listener's {@code run()} method will be executed when
-   * {@code set()} or {@code clear()} is called.
+   * the store changes. The listener's {@code run()} method will be executed on
+   * the event thread after {@code set()} or {@code clear()} is called, and is
+   * expected to read the state with {@code get()}.
    *
    * @param listener The {@link Runnable} to subscribe for state change
    *                 notifications.
    */
   @Override
   public void subscribe(Runnable listener) {
-    listeners.add(listener);
+    runnableListeners.add(listener);
   }
 
   /**
@@ -77,16 +150,201 @@ public class Store<T> implements IStore<T> {
    */
   @Override
   public void unsubscribe(Runnable listener) {
+    runnableListeners.remove(listener);
+  }
+
+  /**
+   * Subscribes a listener to be given a {@link StoreChange} whenever the state
+   * of the store changes.
+   *
+   * @param listener The listener to subscribe for state change notifications.
+   */
+  @Override
+  public void subscribe(IStoreListener<T> listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Unsubscribes a change listener, so it will no longer receive notifications
+   * when the state of the store changes.
+   *
+   * @param listener The listener to unsubscribe.
+   */
+  @Override
+  public void unsubscribe(IStoreListener<T> listener) {
     listeners.remove(listener);
+    ownedListeners.removeIf(owned -> owned.listener().get() == listener);
   }
 
   /**
-   * Notifies all subscribed listeners by executing their {@code run()} methods.
-   * This method is called internally whenever the state of the store is updated.
+   * Subscribes a listener for as long as a component exists. The store does
+   * not keep the component or the listener alive: the listener is kept by the
+   * component, and is dropped once the component has been garbage collected.
+   * If the component is a window, or inside one when subscribing, the
+   * subscription also ends as soon as that window is closed, for example by
+   * {@code dispose()}. The listener may refer to the component freely.
+   *
+   * @param owner    The component, usually a view, the subscription belongs
+   *                 to. It must be a Swing component or a Swing window.
+   * @param listener The listener to subscribe for state change notifications.
+   * @throws IllegalArgumentException If the owner cannot hold the listener.
+   */
+  @Override
+  public void subscribe(Component owner, IStoreListener<T> listener) {
+    keepAlive(owner, listener);
+    OwnedListener<T> owned = new OwnedListener<>(new WeakReference<>(owner), new WeakReference<>(listener));
+    ownedListeners.add(owned);
+
+    Window window = owner instanceof Window w ? w : SwingUtilities.getWindowAncestor(owner);
+    if (window != null) {
+      window.addWindowListener(new WindowAdapter() {
+        @Override
+        public void windowClosed(WindowEvent e) {
+          if (ownedListeners.remove(owned)) {
+            expiredListeners.incrementAndGet();
+          }
+          window.removeWindowListener(this);
+        }
+      });
+    }
+  }
+
+  /**
+   * Returns the number of listeners currently subscribed, including those tied
+   * to a component that has not been collected or closed yet.
+   *
+   * @return The number of listeners.
+   */
+  @Override
+  public int getListenerCount() {
+    purgeOwnedListeners();
+    return listeners.size() + runnableListeners.size() + ownedListeners.size();
+  }
+
+  /**
+   * Builds a report of the live listeners of every store, with how many of
+   * them belong to a component and how many component subscriptions have
+   * ended so far.
+   *
+   * @return The report, one line per store.
+   */
+  public static String report() {
+    List<Store<?>> stores;
+    synchronized (STORES) {
+      stores = new ArrayList<>(STORES);
+    }
+    stores.sort(Comparator.comparing(store -> store.getClass().getSimpleName()));
+
+    StringBuilder report = new StringBuilder("Store listeners:");
+    for (Store<?> store : stores) {
+      int count = store.getListenerCount();
+      report.append(String.format("%n  %-22s %4d live, %4d owned by components, %6d expired",
+          store.getClass().getSimpleName(), count, store.ownedListeners.size(), store.expiredListeners.get()));
+    }
+    return report.toString();
+  }
+
+  /**
+   * Stores a strong reference to a listener in its owner, so the listener is
+   * collected together with the owner and not before.
+   *
+   * @param owner    The owning component.
+   * @param listener The listener to keep.
+   * @throws IllegalArgumentException If the owner is neither a Swing component
+   *                                  nor a Swing window.
+   */
+  @SuppressWarnings("unchecked")
+  private static void keepAlive(Component owner, Object listener) {
+    JComponent holder;
+    if (owner instanceof JComponent component) {
+      holder = component;
+    } else if (owner instanceof RootPaneContainer container) {
+      holder = container.getRootPane();
+    } else {
+      throw new IllegalArgumentException("Listener owner must be a Swing component: " + owner);
+    }
+    synchronized (holder) {
+      List<Object> kept = (List<Object>) holder.getClientProperty(OWNED_LISTENERS_KEY);
+      if (kept == null) {
+        kept = new ArrayList<>();
+        holder.putClientProperty(OWNED_LISTENERS_KEY, kept);
+      }
+      kept.add(listener);
+    }
+  }
+
+  /**
+   * Removes the component subscriptions whose owner has been collected.
+   */
+  private void purgeOwnedListeners() {
+    for (OwnedListener<T> owned : ownedListeners) {
+      if (owned.owner().get() == null || owned.listener().get() == null) {
+        if (ownedListeners.remove(owned)) {
+          expiredListeners.incrementAndGet();
+        }
+      }
+    }
+  }
+
+  /**
+   * Replaces the state and, unless a notification is already waiting to run,
+   * schedules one on the event thread.
+   *
+   * @param t The new state, or {@code null} to clear it.
+   */
+  private void update(T t) {
+    boolean schedule;
+    synchronized (this) {
+      state = t;
+      version++;
+      schedule = pendingUpdates++ == 0;
+    }
+    if (schedule) {
+      SwingUtilities.invokeLater(this::notifyListeners);
+    }
+  }
+
+  /**
+   * Notifies all subscribed listeners of the updates made since they were last
+   * notified, combined into one change. Component subscriptions whose owner
+   * has been collected are removed instead. A listener that throws is logged
+   * and does not stop the others from being notified. This method runs on the
+   * event thread.
    */
   private void notifyListeners() {
-    for (Runnable listener : listeners) {
-      listener.run();
+    StoreChange<T> change;
+    synchronized (this) {
+      change = new StoreChange<>(deliveredState, state, version, pendingUpdates);
+      deliveredState = state;
+      pendingUpdates = 0;
+    }
+    for (IStoreListener<T> listener : listeners) {
+      try {
+        listener.onChange(change);
+      } catch (RuntimeException e) {
+        Log.error("Store listener failed: {}", e.toString());
+      }
+    }
+    for (OwnedListener<T> owned : ownedListeners) {
+      IStoreListener<T> listener = owned.listener().get();
+      if (listener == null || owned.owner().get() == null) {
+        if (ownedListeners.remove(owned)) {
+          expiredListeners.incrementAndGet();
+        }
+        continue;
+      }
+      try {
+        listener.onChange(change);
+      } catch (RuntimeException e) {
+        Log.error("Store listener failed: {}", e.toString());
+      }
+    }
+    for (Runnable listener : runnableListeners) {
+      try {
+        listener.run();
+      } catch (RuntimeException e) {
+        Log.error("Store listener failed: {}", e.toString());
+      }
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package stores;
+
+/**
+ * A change to the state of a {@link Store}, delivered to its listeners. When
+ * several updates arrive before the listeners run, they are combined into one
+ * change: {@code oldValue} is the state before the first of them and
+ * {@code newValue} and {@code version} are those of the last.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ *
+ * @param oldValue The state listeners last saw, or {@code null} if it was
+ *                 clear.
+ * @param newValue The current state, or {@code null} if it is clear.
+ * @param version  The store's version after the change; it goes up by one on
+ *                 every update.
+ * @param updates  The number of updates combined into this change.
+ * @param <T>      The type of the state.
+ */
+public record StoreChange<T>(T oldValue, T newValue, long version, int updates) {
+
+    /**
+     * Returns whether the state was cleared.
+     *
+     * @return {@code true} if there is no new value.
+     */
+    public boolean isCleared() {
+        return newValue == null;
+    }
+}
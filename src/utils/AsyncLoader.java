@@ -0,0 +1,191 @@
+package utils;
+
+import java.awt.Component;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+import config.AppConfig;
+
+/**
+ * A utility class for loading data without blocking the Swing event thread.
+ * The load runs on a small pool of background threads and its result is handed
+ * back on the event thread, so components only touch Swing state where they
+ * are allowed to.
+ * <p>
+ * Every load belongs to a component. When a view is closed, {@link #cancel}
+ * drops every load owned by the view or any component inside it, so results
+ * that arrive after the user has navigated away are never applied.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class AsyncLoader {
+    private static final Set<PendingLoad<?>> PENDING = ConcurrentHashMap.newKeySet();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            AppConfig.ASYNC_LOADER_THREADS, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "async-loader-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    /**
+     * A load that has been submitted and not yet delivered.
+     *
+     * @param <T> The type of the loaded value.
+     */
+    public static final class PendingLoad<T> implements Runnable {
+        private final Component owner;
+        private final Callable<T> task;
+        private final Consumer<T> onLoaded;
+        private final Consumer<Exception> onFailed;
+        private volatile boolean cancelled;
+
+        private PendingLoad(Component owner, Callable<T> task, Consumer<T> onLoaded,
+                Consumer<Exception> onFailed) {
+            this.owner = owner;
+            this.task = task;
+            this.onLoaded = onLoaded;
+            this.onFailed = onFailed;
+        }
+
+        /**
+         * Cancels the load. If it has not started it never runs; if it is running,
+         * its result is discarded instead of being delivered.
+         */
+        public void cancel() {
+            cancelled = true;
+            PENDING.remove(this);
+        }
+
+        /**
+         * Returns whether the load has been cancelled.
+         *
+         * @return {@code true} if {@link #cancel()} has been called.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                T result = task.call();
+                SwingUtilities.invokeLater(() -> deliver(() -> onLoaded.accept(result)));
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> deliver(() -> onFailed.accept(e)));
+            }
+        }
+
+        /**
+         * Runs a callback on the event thread unless the load was cancelled in the
+         * meantime.
+         *
+         * @param callback The callback to run.
+         */
+        private void deliver(Runnable callback) {
+            PENDING.remove(this);
+            if (!cancelled) {
+                callback.run();
+            }
+        }
+    }
+
+    /**
+     * Runs a task on a background thread and passes its result to
+     * {@code onLoaded} on the event thread. Failures are logged.
+     *
+     * @param owner    The component the load belongs to.
+     * @param task     The task to run, typically a service call.
+     * @param onLoaded Receives the result on the event thread.
+     * @param <T>      The type of the loaded value.
+     * @return The pending load, which can be cancelled.
+     */
+    public static <T> PendingLoad<T> load(Component owner, Callable<T> task, Consumer<T> onLoaded) {
+        return load(owner, task, onLoaded, e -> Log.error("Load failed: {}", e.getMessage()));
+    }
+
+    /**
+     * Runs a task on a background thread and passes its result to
+     * {@code onLoaded}, or its exception to {@code onFailed}, on the event
+     * thread.
+     *
+     * @param owner    The component the load belongs to.
+     * @param task     The task to run, typically a service call.
+     * @param onLoaded Receives the result on the event thread.
+     * @param onFailed Receives the exception on the event thread if the task
+     *                 fails.
+     * @param <T>      The type of the loaded value.
+     * @return The pending load, which can be cancelled.
+     */
+    public static <T> PendingLoad<T> load(Component owner, Callable<T> task, Consumer<T> onLoaded,
+            Consumer<Exception> onFailed) {
+        PendingLoad<T> load = new PendingLoad<>(owner, task, onLoaded, onFailed);
+        PENDING.add(load);
+        EXECUTOR.execute(load);
+        return load;
+    }
+
+    /**
+     * Cancels every pending load owned by the given component or by a component
+     * inside it. Called when a view is closed.
+     *
+     * @param root The component, usually a window, whose loads are cancelled.
+     */
+    public static void cancel(Component root) {
+        for (PendingLoad<?> load : PENDING) {
+            if (SwingUtilities.isDescendingFrom(load.owner, root)) {
+                load.cancel();
+            }
+        }
+    }
+
+    /**
+     * Stops background loading when the application exits. Every pending load
+     * is cancelled, so loads that have not started never run, and the loads
+     * already running are given time to finish so none is cut off in the middle
+     * of a database call.
+     *
+     * @param timeoutMillis How long to wait for running loads.
+     * @return {@code true} if every running load finished in time.
+     */
+    public static boolean shutdown(long timeoutMillis) {
+        for (PendingLoad<?> load : PENDING) {
+            load.cancel();
+        }
+        EXECUTOR.shutdown();
+        try {
+            return EXECUTOR.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of loads that have been submitted and not yet delivered
+     * or cancelled.
+     *
+     * @return The number of pending loads.
+     */
+    public static int getPendingCount() {
+        return PENDING.size();
+    }
+}
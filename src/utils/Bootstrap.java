@@ -0,0 +1,184 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the phases of application startup and records how long each one took.
+ * Independent phases run in parallel on background threads, and a phase can
+ * wait for the ones it depends on. Work done on the calling thread can be
+ * recorded as a phase too. Once every phase has finished, {@link #report()}
+ * lists when each one started, how long it ran and on which thread.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class Bootstrap {
+    private final long origin = System.nanoTime();
+    private final List<Phase> phases = new ArrayList<>();
+    private final List<CompletableFuture<Void>> running = new ArrayList<>();
+    private final ExecutorService executor;
+
+    /**
+     * A unit of startup work that may fail.
+     */
+    @FunctionalInterface
+    public interface Task {
+        /**
+         * Performs the work.
+         *
+         * @throws Exception If the work fails.
+         */
+        void run() throws Exception;
+    }
+
+    /**
+     * A finished phase.
+     *
+     * @param name       The name of the phase.
+     * @param thread     The thread it ran on.
+     * @param startNanos When it started, relative to the bootstrap.
+     * @param nanos      How long it ran.
+     * @param failed     Whether it threw an exception.
+     */
+    private record Phase(String name, String thread, long startNanos, long nanos, boolean failed) {
+    }
+
+    /**
+     * Constructs a new {@code Bootstrap} with the given number of background
+     * threads. The threads are daemons, so they never keep the JVM alive.
+     *
+     * @param threads The number of phases that may run at the same time.
+     */
+    public Bootstrap(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bootstrap-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a phase on a background thread.
+     *
+     * @param name The name of the phase.
+     * @param task The work to do.
+     * @return A future that completes when the phase has finished, or
+     *         completes exceptionally with its failure.
+     */
+    public CompletableFuture<Void> run(String name, Task task) {
+        return track(CompletableFuture.runAsync(() -> execute(name, task), executor));
+    }
+
+    /**
+     * Starts a phase on a background thread once another phase has finished.
+     * If that phase fails, this one is skipped and fails with the same cause.
+     *
+     * @param dependency The phase to wait for.
+     * @param name       The name of the phase.
+     * @param task       The work to do.
+     * @return A future that completes when the phase has finished.
+     */
+    public CompletableFuture<Void> runAfter(CompletableFuture<?> dependency, String name, Task task) {
+        return track(dependency.thenRunAsync(() -> execute(name, task), executor));
+    }
+
+    /**
+     * Records a phase that ran on the calling thread.
+     *
+     * @param name       The name of the phase.
+     * @param startNanos The {@link System#nanoTime()} at which it started.
+     */
+    public void record(String name, long startNanos) {
+        record(name, startNanos, false);
+    }
+
+    /**
+     * Returns a future that completes once every phase started so far has
+     * finished, whether or not it succeeded.
+     *
+     * @return The future.
+     */
+    public synchronized CompletableFuture<Void> whenDone() {
+        CompletableFuture<?>[] all = running.stream()
+                .map(future -> future.handle((result, error) -> null))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(all);
+    }
+
+    /**
+     * Stops the background threads once the phases already started have run.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Builds a table of the recorded phases in the order they started.
+     *
+     * @return The report.
+     */
+    public synchronized String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-12s %9s %9s  %s%n", "Phase", "start ms", "time ms", "thread"));
+        phases.stream()
+                .sorted((a, b) -> Long.compare(a.startNanos(), b.startNanos()))
+                .forEach(phase -> report.append(String.format("%-12s %9d %9d  %s%s%n",
+                        phase.name(), phase.startNanos() / 1_000_000, phase.nanos() / 1_000_000,
+                        phase.thread(), phase.failed() ? " (failed)" : "")));
+        report.append(String.format("%-12s %9s %9d", "total", "", (System.nanoTime() - origin) / 1_000_000));
+        return report.toString();
+    }
+
+    /**
+     * Runs a phase on the current thread and records it.
+     *
+     * @param name The name of the phase.
+     * @param task The work to do.
+     * @throws CompletionException If the work fails.
+     */
+    private void execute(String name, Task task) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            task.run();
+            failed = false;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        } finally {
+            record(name, start, failed);
+        }
+    }
+
+    /**
+     * Adds a finished phase to the report.
+     *
+     * @param name       The name of the phase.
+     * @param startNanos The {@link System#nanoTime()} at which it started.
+     * @param failed     Whether it failed.
+     */
+    private synchronized void record(String name, long startNanos, boolean failed) {
+        phases.add(new Phase(name, Thread.currentThread().getName(), startNanos - origin,
+                System.nanoTime() - startNanos, failed));
+    }
+
+    /**
+     * Remembers a started phase for {@link #whenDone()}.
+     *
+     * @param future The phase's future.
+     * @return The same future.
+     */
+    private synchronized CompletableFuture<Void> track(CompletableFuture<Void> future) {
+        running.add(future);
+        return future;
+    }
+}
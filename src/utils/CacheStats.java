@@ -0,0 +1,95 @@
+package utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit and miss counters for a cache. Counting is lock-free, so recording a hit
+ * costs next to nothing even when many threads read the cache at once.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class CacheStats {
+    private final String name;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a new {@code CacheStats} with all counters at zero.
+     *
+     * @param name The name of the cache, used for reporting.
+     */
+    public CacheStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a read that was answered from the cache.
+     */
+    public void recordHit() {
+        hits.increment();
+    }
+
+    /**
+     * Records a read that had to go to the database.
+     */
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    /**
+     * Records that the cached data was discarded because of a write.
+     */
+    public void recordInvalidation() {
+        invalidations.increment();
+    }
+
+    /**
+     * Records that an entry was dropped because the cache was full or the entry
+     * had expired.
+     */
+    public void recordEviction() {
+        evictions.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the share of reads answered from the cache.
+     *
+     * @return The hit rate between {@code 0.0} and {@code 1.0}, or {@code 0.0}
+     *         if nothing has been read yet.
+     */
+    public double getHitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s cache: %d hits, %d misses (%.1f%% hit rate), %d invalidations, %d evictions",
+                name, getHits(), getMisses(), getHitRate() * 100, getInvalidations(), getEvictions());
+    }
+}
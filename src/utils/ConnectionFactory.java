@@ -1,40 +1,63 @@
 package utils;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 import config.AppConfig;
 
 /**
- * A utility class responsible for managing the creation and closure of
- * database connections. It uses the database URL configured in
- * {@link AppConfig}.
+ * A utility class responsible for handing out database connections. All
+ * connections come from a single shared {@link ConnectionPool} configured from
+ * {@link AppConfig}, so each repository operation borrows a connection for just
+ * that operation and returns it when done.
  * 
  * @author Ian Frye
  * @version 1.0
  * @since 2025-04-20
  */
 public class ConnectionFactory {
+    private static volatile ConnectionPool pool;
 
     /**
-     * Establishes and returns a new database connection using the URL specified
-     * in {@link AppConfig#DB_URL}.
+     * Returns the shared {@link ConnectionPool}, creating it on first use with
+     * the URL and sizes specified in {@link AppConfig}.
      *
-     * @return A {@link Connection} object representing the connection to the
-     *         database.
-     * @throws SQLException If a database access error occurs or the URL is invalid.
+     * @return The application's connection pool.
+     */
+    public static ConnectionPool getPool() {
+        if (pool == null) {
+            synchronized (ConnectionFactory.class) {
+                if (pool == null) {
+                    pool = new ConnectionPool(
+                            AppConfig.DB_URL,
+                            AppConfig.DB_POOL_MIN_SIZE,
+                            AppConfig.DB_POOL_MAX_SIZE,
+                            AppConfig.DB_POOL_BORROW_TIMEOUT_MS,
+                            AppConfig.DB_POOL_VALIDATION_TIMEOUT_SECONDS,
+                            AppConfig.DB_STATEMENT_CACHE_SIZE);
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Borrows a connection from the shared pool. Closing the returned connection
+     * returns it to the pool.
+     *
+     * @return A pooled {@link Connection} to the database.
+     * @throws SQLException If no connection could be obtained.
      */
     public static Connection getConnection() throws SQLException {
-        String url = AppConfig.DB_URL;
-        return DriverManager.getConnection(url);
+        return getPool().getConnection();
     }
 
     /**
      * Closes the provided database connection. It checks if the connection is
-     * not null and is currently open before attempting to close it. If an
+     * not null and is currently open before attempting to close it. For pooled
+     * connections this returns the connection to the pool. If an
      * {@link SQLException} occurs during the closing process, an error message
-     * is printed to the console, and the application exits with a status code of 1.
+     * is logged, and the application exits with a status code of 1.
      *
      * @param conn The {@link Connection} object to close.
      */
@@ -44,8 +67,8 @@ public class ConnectionFactory {
                 conn.close();
             }
         } catch (SQLException ex) {
-            System.out.println(ex.getMessage());
+            Log.error(ex.getMessage());
             System.exit(1);
         }
     }
-}
\ No newline at end of file
+}
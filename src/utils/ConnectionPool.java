@@ -0,0 +1,420 @@
+package utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of JDBC connections. At most {@code maxSize} connections are
+ * handed out at any time; callers beyond that wait up to the configured borrow
+ * timeout for a connection to be returned. Idle connections are validated
+ * before being handed out again and replaced if they are no longer usable.
+ * <p>
+ * Connections returned by {@link #getConnection()} are lightweight wrappers
+ * around the physical connection. Calling {@code close()} on them does not
+ * close the underlying connection, it rolls back any uncommitted work,
+ * restores auto-commit and returns the physical connection to the pool.
+ * <p>
+ * Each physical connection keeps a {@link StatementCache}, so statements
+ * prepared through a borrowed connection are reused across borrows instead of
+ * being compiled again.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class ConnectionPool {
+    private final String url;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    private final StatementCache.Counters statementCounters = new StatementCache.Counters();
+    private final BlockingDeque<PhysicalConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new {@code ConnectionPool}. No connections are opened until
+     * they are first borrowed or {@link #warmUp()} is called.
+     *
+     * @param url                      The JDBC URL used to open physical
+     *                                 connections.
+     * @param minSize                  The number of connections opened by
+     *                                 {@link #warmUp()}.
+     * @param maxSize                  The maximum number of connections that may
+     *                                 be borrowed at the same time.
+     * @param borrowTimeoutMillis      How long {@link #getConnection()} waits for
+     *                                 a free connection before failing.
+     * @param validationTimeoutSeconds The timeout passed to
+     *                                 {@link Connection#isValid(int)} when a
+     *                                 connection is borrowed.
+     * @param statementCacheSize       The number of prepared statements cached
+     *                                 per physical connection, or {@code 0} to
+     *                                 disable statement caching.
+     * @throws IllegalArgumentException If the sizes are negative or
+     *                                  {@code minSize} exceeds {@code maxSize}.
+     */
+    public ConnectionPool(String url, int minSize, int maxSize, long borrowTimeoutMillis,
+            int validationTimeoutSeconds, int statementCacheSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException(
+                    "Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Opens connections until the pool holds at least {@code minSize} of them.
+     *
+     * @throws SQLException If a connection cannot be opened.
+     */
+    public void warmUp() throws SQLException {
+        while (!closed && openConnections.get() < minSize) {
+            idleConnections.offerLast(openPhysicalConnection());
+        }
+    }
+
+    /**
+     * Borrows a connection from the pool, waiting up to the borrow timeout if all
+     * connections are in use. Idle connections are validated first and discarded
+     * if they are no longer valid. The caller must close the returned connection
+     * (preferably with try-with-resources) to return it to the pool.
+     *
+     * @return A pooled {@link Connection}.
+     * @throws SQLException If the pool is closed, no connection became available
+     *                      in time, or a new connection could not be opened.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + borrowTimeoutMillis + "ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PhysicalConnection physical;
+            while ((physical = idleConnections.pollFirst()) != null) {
+                if (isUsable(physical.connection)) {
+                    return wrap(physical);
+                }
+                discard(physical);
+            }
+            return wrap(openPhysicalConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the pool and every idle connection it holds. Connections that are
+     * currently borrowed are closed as soon as they are returned.
+     */
+    public void close() {
+        closed = true;
+        PhysicalConnection physical;
+        while ((physical = idleConnections.pollFirst()) != null) {
+            discard(physical);
+        }
+    }
+
+    /**
+     * Closes the pool once the connections currently borrowed have been
+     * returned, waiting at most the given time. No connection can be borrowed
+     * after this is called, so the wait only covers work already in progress.
+     *
+     * @param timeoutMillis How long to wait for borrowed connections.
+     * @return {@code true} if every borrowed connection was returned in time.
+     */
+    public boolean close(long timeoutMillis) {
+        closed = true;
+        boolean drained = false;
+        try {
+            drained = permits.tryAcquire(maxSize, timeoutMillis, TimeUnit.MILLISECONDS);
+            if (drained) {
+                permits.release(maxSize);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        close();
+        return drained;
+    }
+
+    /**
+     * Returns whether the pool has been closed.
+     *
+     * @return {@code true} if {@link #close()} has been called.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns the maximum number of connections that can be borrowed at once.
+     *
+     * @return The maximum pool size.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of connections currently borrowed.
+     *
+     * @return The number of active connections.
+     */
+    public int getActiveCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    /**
+     * Returns the number of open connections waiting in the pool.
+     *
+     * @return The number of idle connections.
+     */
+    public int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    /**
+     * Returns the number of physical connections currently open, both idle and
+     * borrowed.
+     *
+     * @return The number of open physical connections.
+     */
+    public int getOpenCount() {
+        return openConnections.get();
+    }
+
+    /**
+     * Returns the number of prepared statements served from a statement cache.
+     *
+     * @return The number of statement cache hits.
+     */
+    public long getStatementCacheHits() {
+        return statementCounters.hits.get();
+    }
+
+    /**
+     * Returns the number of prepared statements that had to be compiled because
+     * they were not cached.
+     *
+     * @return The number of statement cache misses.
+     */
+    public long getStatementCacheMisses() {
+        return statementCounters.misses.get();
+    }
+
+    /**
+     * Returns the number of statements evicted from a full statement cache.
+     *
+     * @return The number of statement cache evictions.
+     */
+    public long getStatementCacheEvictions() {
+        return statementCounters.evictions.get();
+    }
+
+    /**
+     * Returns the fraction of prepared statements served from a statement cache.
+     *
+     * @return The statement cache hit rate between 0 and 1, or 0 if no statements
+     *         have been prepared yet.
+     */
+    public double getStatementCacheHitRate() {
+        long hits = getStatementCacheHits();
+        long total = hits + getStatementCacheMisses();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Opens a new physical connection to the database.
+     *
+     * @return The new connection together with its statement cache.
+     * @throws SQLException If the connection cannot be opened.
+     */
+    private PhysicalConnection openPhysicalConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        openConnections.incrementAndGet();
+        return new PhysicalConnection(connection, new StatementCache(statementCacheSize, statementCounters));
+    }
+
+    /**
+     * Checks whether an idle connection can be handed out again.
+     *
+     * @param physical The physical connection to check.
+     * @return {@code true} if the connection is open and valid.
+     */
+    private boolean isUsable(Connection physical) {
+        try {
+            return !physical.isClosed() && physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns a borrowed physical connection to the pool. Any uncommitted work is
+     * rolled back and auto-commit is restored so the next borrower starts from a
+     * clean state. Connections that cannot be reset are discarded.
+     *
+     * @param physical The physical connection being returned.
+     */
+    private void release(PhysicalConnection physical) {
+        try {
+            Connection connection = physical.connection;
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if (closed) {
+                discard(physical);
+            } else {
+                // Most recently used first, so hot connections stay hot.
+                idleConnections.offerFirst(physical);
+            }
+        } catch (SQLException e) {
+            Log.warn("Discarding pooled connection: {}", e.getMessage());
+            discard(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes a physical connection and removes it from the open count.
+     *
+     * @param physical The physical connection to close.
+     */
+    private void discard(PhysicalConnection physical) {
+        openConnections.decrementAndGet();
+        physical.statementCache.close();
+        try {
+            physical.connection.close();
+        } catch (SQLException e) {
+            Log.error("Failed to close pooled connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Wraps a physical connection in a proxy whose {@code close()} returns the
+     * connection to this pool.
+     *
+     * @param physical The physical connection to wrap.
+     * @return The pooled {@link Connection} handed to the caller.
+     */
+    private Connection wrap(PhysicalConnection physical) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new PooledConnectionHandler(physical));
+    }
+
+    /**
+     * A physical connection held by the pool and the statement cache that lives
+     * as long as it does.
+     */
+    private static class PhysicalConnection {
+        private final Connection connection;
+        private final StatementCache statementCache;
+
+        PhysicalConnection(Connection connection, StatementCache statementCache) {
+            this.connection = connection;
+            this.statementCache = statementCache;
+        }
+    }
+
+    /**
+     * The invocation handler behind each borrowed connection. It forwards every
+     * call to the physical connection until the borrower closes it, after which
+     * the connection behaves as closed. Plain {@code prepareStatement(sql)} and
+     * {@code prepareStatement(sql, autoGeneratedKeys)} calls are served from the
+     * connection's {@link StatementCache}.
+     */
+    private class PooledConnectionHandler implements InvocationHandler {
+        private final PhysicalConnection physical;
+        private boolean returned;
+
+        PooledConnectionHandler(PhysicalConnection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(physical);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || physical.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical.connection + "]";
+                default:
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    if (isCacheablePrepare(method)) {
+                        int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : -1;
+                        return physical.statementCache.prepare(
+                                (Connection) proxy, physical.connection, (String) args[0], autoGeneratedKeys);
+                    }
+                    try {
+                        return method.invoke(physical.connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+
+        /**
+         * Checks whether a call is one of the {@code prepareStatement} overloads
+         * the statement cache handles.
+         *
+         * @param method The method being invoked.
+         * @return {@code true} for {@code prepareStatement(String)} and
+         *         {@code prepareStatement(String, int)}.
+         */
+        private boolean isCacheablePrepare(Method method) {
+            if (!method.getName().equals("prepareStatement")) {
+                return false;
+            }
+            Class<?>[] types = method.getParameterTypes();
+            return types.length == 1 || (types.length == 2 && types[1] == int.class);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package utils;
+
+import enums.DatabaseStartup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Instant;
+
+/**
+ * A utility class for starting and stopping the embedded Derby database
+ * cleanly. If Derby is not shut down explicitly, the next boot has to replay
+ * the transaction log before the first query can run, and the longer the
+ * application ran the longer that takes. Shutting the engine down with
+ * {@code ;shutdown=true} after a checkpoint leaves nothing to replay.
+ * <p>
+ * A marker file next to the database directory records a clean shutdown. It
+ * is removed when the database is opened, so a process that dies without
+ * shutting down leaves no marker and the next startup reports a recovery.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class DerbyLifecycle {
+    private static final String JDBC_PREFIX = "jdbc:derby:";
+    private static final String MARKER_SUFFIX = ".clean-shutdown";
+    // The SQL states Derby reports a successful shutdown with
+    private static final String ENGINE_SHUTDOWN_STATE = "XJ015";
+    private static final String DATABASE_SHUTDOWN_STATE = "08006";
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private DerbyLifecycle() {
+    }
+
+    /**
+     * Returns a Derby URL without its attributes, such as
+     * {@code ;create=true}.
+     *
+     * @param url The JDBC URL.
+     * @return The URL naming only the database.
+     */
+    public static String databaseUrl(String url) {
+        int attributes = url.indexOf(';');
+        return attributes < 0 ? url : url.substring(0, attributes);
+    }
+
+    /**
+     * Returns the directory an on-disk Derby database lives in.
+     *
+     * @param url The JDBC URL.
+     * @return The database directory, or {@code null} if the URL is not a
+     *         Derby URL or names an in-memory or other non-directory database.
+     */
+    static Path databaseDirectory(String url) {
+        String name = databaseUrl(url);
+        if (!name.startsWith(JDBC_PREFIX)) {
+            return null;
+        }
+        name = name.substring(JDBC_PREFIX.length());
+        if (name.startsWith("directory:")) {
+            name = name.substring("directory:".length());
+        } else if (name.isEmpty() || name.matches("^[a-zA-Z]{2,}:.*")) {
+            // memory:, classpath:, jar: and similar subprotocols
+            return null;
+        }
+        Path path = Path.of(name);
+        String home = System.getProperty("derby.system.home");
+        return path.isAbsolute() || home == null ? path : Path.of(home).resolve(path);
+    }
+
+    /**
+     * Returns the marker file that records a clean shutdown of a database.
+     *
+     * @param directory The database directory.
+     * @return The marker file beside it.
+     */
+    private static Path markerOf(Path directory) {
+        return directory.resolveSibling(directory.getFileName() + MARKER_SUFFIX);
+    }
+
+    /**
+     * Works out how the database was left, before it is opened, and removes
+     * the clean shutdown marker so that a crash from now on is detected.
+     *
+     * @param url The JDBC URL of the database.
+     * @return How the database will start.
+     */
+    public static DatabaseStartup beginStartup(String url) {
+        Path directory = databaseDirectory(url);
+        if (directory == null) {
+            return DatabaseStartup.UNKNOWN;
+        }
+        if (!Files.isDirectory(directory)) {
+            return DatabaseStartup.NEW;
+        }
+        try {
+            return Files.deleteIfExists(markerOf(directory)) ? DatabaseStartup.CLEAN : DatabaseStartup.RECOVERED;
+        } catch (IOException e) {
+            Log.warn("Failed to remove the shutdown marker: {}", e.getMessage());
+            return DatabaseStartup.UNKNOWN;
+        }
+    }
+
+    /**
+     * Writes everything in Derby's page cache to disk, so the transaction log
+     * holds nothing that would need replaying.
+     *
+     * @param url The JDBC URL of the database.
+     * @throws SQLException If the database cannot be reached or the checkpoint
+     *                      fails.
+     */
+    public static void checkpoint(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(databaseUrl(url));
+                CallableStatement stmt = connection.prepareCall("CALL SYSCS_UTIL.SYSCS_CHECKPOINT_DATABASE()")) {
+            stmt.execute();
+        }
+    }
+
+    /**
+     * Shuts down the Derby engine and every database it has open. Open
+     * transactions are rolled back.
+     *
+     * @return {@code true} if Derby confirmed the shutdown.
+     */
+    public static boolean shutdownEngine() {
+        try {
+            DriverManager.getConnection(JDBC_PREFIX + ";shutdown=true").close();
+        } catch (SQLException e) {
+            // Derby always reports a shutdown, successful or not, as an exception
+            String state = e.getSQLState();
+            if (ENGINE_SHUTDOWN_STATE.equals(state) || DATABASE_SHUTDOWN_STATE.equals(state)) {
+                return true;
+            }
+            Log.error("Derby shutdown failed: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Records that a database was shut down cleanly.
+     *
+     * @param url The JDBC URL of the database.
+     */
+    public static void markCleanShutdown(String url) {
+        Path directory = databaseDirectory(url);
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        try {
+            Files.writeString(markerOf(directory), Instant.now() + System.lineSeparator());
+        } catch (IOException e) {
+            Log.warn("Failed to write the shutdown marker: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,521 @@
+package utils;
+
+import config.AppConfig;
+import enums.LogLevel;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The application's log. Logging a message only copies its level, template
+ * and arguments into a preallocated slot of a lock-free ring buffer; a
+ * background thread formats it and writes it to a rotating log file, and to
+ * the console if {@link AppConfig#LOG_CONSOLE} is set. The calling thread,
+ * which is often the event dispatch thread or a thread placing an order, never
+ * waits for I/O.
+ * <p>
+ * Messages are templates with {@code {}} placeholders, filled in on the
+ * background thread:
+ *
+ * <pre>
+ * Log.debug("Created order: {}", createdOrder);
+ * </pre>
+ *
+ * A message below {@link AppConfig#LOG_LEVEL} returns after one comparison,
+ * without building any string. Arguments are turned into text later, so they
+ * must not be changed after they are logged. If the buffer is full the message
+ * is dropped rather than blocking, and the number dropped is written once
+ * there is room again. The file is rotated when it passes
+ * {@link AppConfig#LOG_MAX_FILE_BYTES}, keeping {@link AppConfig#LOG_MAX_FILES}
+ * files. Messages still buffered are written when the JVM shuts down.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class Log {
+    private static final LogLevel LEVEL = AppConfig.LOG_LEVEL;
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private static final RingBuffer buffer = new RingBuffer(AppConfig.LOG_BUFFER_SIZE);
+    private static final Thread writer;
+
+    static {
+        writer = new Thread(Log::writeLoop, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "log-flush"));
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private Log() {
+    }
+
+    /**
+     * Checks whether messages at a level are written. Only needed when working
+     * out an argument is itself expensive.
+     *
+     * @param level The level.
+     * @return {@code true} if messages at that level are written.
+     */
+    public static boolean isEnabled(LogLevel level) {
+        return level.isAtLeast(LEVEL);
+    }
+
+    public static void debug(String message) {
+        log(LogLevel.DEBUG, message, 0, null, null, null, null);
+    }
+
+    public static void debug(String template, Object arg) {
+        log(LogLevel.DEBUG, template, 1, arg, null, null, null);
+    }
+
+    public static void debug(String template, Object arg1, Object arg2) {
+        log(LogLevel.DEBUG, template, 2, arg1, arg2, null, null);
+    }
+
+    public static void info(String message) {
+        log(LogLevel.INFO, message, 0, null, null, null, null);
+    }
+
+    public static void info(String template, Object arg) {
+        log(LogLevel.INFO, template, 1, arg, null, null, null);
+    }
+
+    public static void info(String template, Object arg1, Object arg2) {
+        log(LogLevel.INFO, template, 2, arg1, arg2, null, null);
+    }
+
+    public static void info(String template, Object arg1, Object arg2, Object arg3) {
+        log(LogLevel.INFO, template, 3, arg1, arg2, arg3, null);
+    }
+
+    public static void info(String template, Object arg1, Object arg2, Object arg3, Object arg4) {
+        log(LogLevel.INFO, template, 4, arg1, arg2, arg3, arg4);
+    }
+
+    public static void warn(String message) {
+        log(LogLevel.WARN, message, 0, null, null, null, null);
+    }
+
+    public static void warn(String template, Object arg) {
+        log(LogLevel.WARN, template, 1, arg, null, null, null);
+    }
+
+    public static void warn(String template, Object arg1, Object arg2) {
+        log(LogLevel.WARN, template, 2, arg1, arg2, null, null);
+    }
+
+    public static void error(String message) {
+        log(LogLevel.ERROR, message, 0, null, null, null, null);
+    }
+
+    public static void error(String template, Object arg) {
+        log(LogLevel.ERROR, template, 1, arg, null, null, null);
+    }
+
+    public static void error(String template, Object arg1, Object arg2) {
+        log(LogLevel.ERROR, template, 2, arg1, arg2, null, null);
+    }
+
+    /**
+     * Queues a message for the writer thread if its level is enabled.
+     *
+     * @param level    The level of the message.
+     * @param template The message, with a {@code {}} for each argument.
+     * @param argCount The number of arguments used.
+     * @param arg1     The first argument.
+     * @param arg2     The second argument.
+     * @param arg3     The third argument.
+     * @param arg4     The fourth argument.
+     */
+    private static void log(LogLevel level, String template, int argCount, Object arg1, Object arg2, Object arg3,
+            Object arg4) {
+        if (!level.isAtLeast(LEVEL)) {
+            return;
+        }
+        if (!buffer.offer(level, template, argCount, arg1, arg2, arg3, arg4)) {
+            buffer.dropped.increment();
+        } else if (buffer.writerIdle.get() && buffer.writerIdle.compareAndSet(true, false)) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Waits until every message logged so far has been written, for at most two
+     * seconds.
+     */
+    public static void flush() {
+        long target = buffer.tail.get();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (buffer.flushed.get() < target && writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * The body of the writer thread: drains the buffer, writes each message,
+     * and flushes the output whenever the buffer runs empty. While the buffer
+     * stays empty it parks until the next message is logged, waking at most
+     * once a second otherwise.
+     */
+    private static void writeLoop() {
+        RollingFile file = RollingFile.open(Path.of(AppConfig.LOG_FILE), AppConfig.LOG_MAX_FILE_BYTES,
+                AppConfig.LOG_MAX_FILES);
+        StringBuilder line = new StringBuilder(256);
+        LogEvent event = new LogEvent();
+        long reportedDrops = 0;
+        long written = 0;
+        boolean dirty = false;
+
+        while (true) {
+            if (!buffer.poll(event)) {
+                if (dirty) {
+                    if (file != null) {
+                        file.flush();
+                    }
+                    if (AppConfig.LOG_CONSOLE) {
+                        System.out.flush();
+                    }
+                    buffer.flushed.set(written);
+                    dirty = false;
+                }
+                buffer.writerIdle.set(true);
+                if (buffer.isEmpty()) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                buffer.writerIdle.set(false);
+                continue;
+            }
+
+            long drops = buffer.dropped.sum();
+            if (drops != reportedDrops) {
+                line.setLength(0);
+                line.append(TIMESTAMP.format(Instant.now())).append(" WARN  [log-writer] ")
+                        .append(drops - reportedDrops).append(" log messages dropped, buffer full")
+                        .append(System.lineSeparator());
+                write(line, file);
+                reportedDrops = drops;
+            }
+
+            line.setLength(0);
+            event.format(line);
+            write(line, file);
+            event.clear();
+            written++;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Writes one formatted line to the log file and the console.
+     *
+     * @param line The line, ending with a line separator.
+     * @param file The log file, or {@code null} if it could not be opened.
+     */
+    private static void write(StringBuilder line, RollingFile file) {
+        if (file != null) {
+            file.write(line);
+        }
+        if (AppConfig.LOG_CONSOLE) {
+            System.out.append(line);
+        }
+    }
+
+    /**
+     * One logged message. The ring buffer holds a fixed set of these and reuses
+     * them, so logging allocates nothing beyond boxing primitive arguments.
+     */
+    private static class LogEvent {
+        long timestamp;
+        LogLevel level;
+        String thread;
+        String template;
+        int argCount;
+        Object arg1;
+        Object arg2;
+        Object arg3;
+        Object arg4;
+
+        /**
+         * Copies another event's fields into this one.
+         *
+         * @param other The event to copy.
+         */
+        void copyFrom(LogEvent other) {
+            timestamp = other.timestamp;
+            level = other.level;
+            thread = other.thread;
+            template = other.template;
+            argCount = other.argCount;
+            arg1 = other.arg1;
+            arg2 = other.arg2;
+            arg3 = other.arg3;
+            arg4 = other.arg4;
+        }
+
+        /**
+         * Drops the references to the logged objects so they can be collected.
+         */
+        void clear() {
+            template = null;
+            thread = null;
+            arg1 = null;
+            arg2 = null;
+            arg3 = null;
+            arg4 = null;
+        }
+
+        /**
+         * Formats the event as one log line, replacing each {@code {}} in the
+         * template with the next argument.
+         *
+         * @param out The builder the line is appended to.
+         */
+        void format(StringBuilder out) {
+            out.append(TIMESTAMP.format(Instant.ofEpochMilli(timestamp))).append(' ');
+            out.append(level);
+            for (int i = level.name().length(); i < 6; i++) {
+                out.append(' ');
+            }
+            out.append('[').append(thread).append("] ");
+
+            String text = String.valueOf(template);
+            int arg = 0;
+            int from = 0;
+            int at;
+            while (arg < argCount && (at = text.indexOf("{}", from)) >= 0) {
+                out.append(text, from, at);
+                out.append(switch (arg) {
+                    case 0 -> arg1;
+                    case 1 -> arg2;
+                    case 2 -> arg3;
+                    default -> arg4;
+                });
+                arg++;
+                from = at + 2;
+            }
+            out.append(text, from, text.length());
+            out.append(System.lineSeparator());
+        }
+    }
+
+    /**
+     * A bounded, lock-free ring buffer of {@link LogEvent}s with many writers
+     * and one reader. Each slot has a sequence number that tells writers when it
+     * is free and the reader when it has been filled, so neither side ever
+     * takes a lock.
+     */
+    private static class RingBuffer {
+        private final LogEvent[] slots;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        final AtomicLong tail = new AtomicLong();
+        final AtomicLong flushed = new AtomicLong();
+        final LongAdder dropped = new LongAdder();
+        final AtomicBoolean writerIdle = new AtomicBoolean();
+        private long head;
+
+        /**
+         * Constructs a new {@code RingBuffer}.
+         *
+         * @param requestedCapacity The minimum number of slots; rounded up to a
+         *                          power of two.
+         */
+        RingBuffer(int requestedCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(requestedCapacity, 2) - 1) << 1;
+            slots = new LogEvent[capacity];
+            sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                slots[i] = new LogEvent();
+                sequences.set(i, i);
+            }
+            mask = capacity - 1;
+        }
+
+        /**
+         * Claims a free slot and fills it with a message.
+         *
+         * @return {@code true} if the message was queued, {@code false} if the
+         *         buffer was full.
+         */
+        boolean offer(LogLevel level, String template, int argCount, Object arg1, Object arg2, Object arg3,
+                Object arg4) {
+            long position = tail.get();
+            while (true) {
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        LogEvent event = slots[index];
+                        event.timestamp = System.currentTimeMillis();
+                        event.level = level;
+                        event.thread = Thread.currentThread().getName();
+                        event.template = template;
+                        event.argCount = argCount;
+                        event.arg1 = arg1;
+                        event.arg2 = arg2;
+                        event.arg3 = arg3;
+                        event.arg4 = arg4;
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                    position = tail.get();
+                } else if (difference < 0) {
+                    return false;
+                } else {
+                    position = tail.get();
+                }
+            }
+        }
+
+        /**
+         * Takes the oldest message out of the buffer. Only the writer thread
+         * calls this.
+         *
+         * @param into The event the message is copied into.
+         * @return {@code true} if a message was taken, {@code false} if the
+         *         buffer was empty.
+         */
+        boolean poll(LogEvent into) {
+            if (isEmpty()) {
+                return false;
+            }
+            int index = (int) (head & mask);
+            LogEvent event = slots[index];
+            into.copyFrom(event);
+            event.clear();
+            sequences.set(index, head + mask + 1);
+            head++;
+            return true;
+        }
+
+        /**
+         * Checks whether the oldest slot is still waiting for a message. Only
+         * the writer thread calls this.
+         *
+         * @return {@code true} if there is nothing to take.
+         */
+        boolean isEmpty() {
+            return sequences.get((int) (head & mask)) != head + 1;
+        }
+    }
+
+    /**
+     * A log file that is renamed to {@code <name>.1} when it grows past a size
+     * limit, shifting older files up and deleting the oldest.
+     */
+    private static class RollingFile {
+        private final Path path;
+        private final long maxBytes;
+        private final int maxFiles;
+        private Writer out;
+        private long size;
+
+        private RollingFile(Path path, long maxBytes, int maxFiles) {
+            this.path = path;
+            this.maxBytes = maxBytes;
+            this.maxFiles = maxFiles;
+        }
+
+        /**
+         * Opens the log file for appending, creating its directory if needed.
+         *
+         * @return The file, or {@code null} if it cannot be opened, in which
+         *         case messages only go to the console.
+         */
+        static RollingFile open(Path path, long maxBytes, int maxFiles) {
+            RollingFile file = new RollingFile(path, maxBytes, maxFiles);
+            try {
+                file.reopen();
+                return file;
+            } catch (IOException e) {
+                System.err.println("Failed to open log file " + path + ": " + e.getMessage());
+                return null;
+            }
+        }
+
+        private void reopen() throws IOException {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            out = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            size = Files.size(path);
+        }
+
+        /**
+         * Appends a line, rotating the file first if it is full. Errors are
+         * printed to the console and the line is lost.
+         *
+         * @param line The line to write.
+         */
+        void write(CharSequence line) {
+            try {
+                if (size > 0 && size + line.length() > maxBytes) {
+                    rotate();
+                }
+                out.append(line);
+                size += line.length();
+            } catch (IOException e) {
+                System.err.println("Failed to write log file " + path + ": " + e.getMessage());
+            }
+        }
+
+        void flush() {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                System.err.println("Failed to flush log file " + path + ": " + e.getMessage());
+            }
+        }
+
+        /**
+         * Closes the current file, shifts {@code <name>.N} to
+         * {@code <name>.N+1}, renames the current file to {@code <name>.1} and
+         * starts a new one.
+         *
+         * @throws IOException If the files cannot be renamed or reopened.
+         */
+        private void rotate() throws IOException {
+            out.close();
+            Files.deleteIfExists(rotated(maxFiles - 1));
+            for (int i = maxFiles - 2; i >= 1; i--) {
+                if (Files.exists(rotated(i))) {
+                    Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (maxFiles > 1) {
+                Files.move(path, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.delete(path);
+            }
+            reopen();
+        }
+
+        private Path rotated(int index) {
+            return path.resolveSibling(path.getFileName() + "." + index);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call, error and row counters and a latency histogram for one instrumented
+ * method. Recording is lock-free, so many threads can call the method at once
+ * without the statistics slowing them down.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class MethodStats implements MethodStatsMXBean {
+    private final String name;
+    private volatile Counters counters = new Counters();
+
+    /**
+     * The counters since the start or the last reset. A reset swaps in a new
+     * instance, so a reading never mixes values from before and after it.
+     */
+    private static class Counters {
+        final LongAdder calls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    /**
+     * Constructs a new {@code MethodStats} with all counters at zero.
+     *
+     * @param name The name of the method, for example
+     *             {@code "OrderRepository.findById"}.
+     */
+    public MethodStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one call.
+     *
+     * @param nanos  How long the call took, in nanoseconds.
+     * @param failed Whether the call threw an exception.
+     */
+    public void recordCall(long nanos, boolean failed) {
+        Counters current = counters;
+        current.calls.increment();
+        if (failed) {
+            current.errors.increment();
+        }
+        current.latency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records rows read or written by a call.
+     *
+     * @param count The number of rows.
+     */
+    public void recordRows(long count) {
+        counters.rows.add(count);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCalls() {
+        return counters.calls.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return counters.errors.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return counters.rows.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return counters.latency.getMeanMicros() / 1000.0;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return counters.latency.getPercentileMicros(50) / 1000.0;
+    }
+
+    @Override
+    public double getP95Millis() {
+        return counters.latency.getPercentileMicros(95) / 1000.0;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return counters.latency.getPercentileMicros(99) / 1000.0;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return counters.latency.getMaxMicros() / 1000.0;
+    }
+
+    /**
+     * Returns the time spent in the method across all calls.
+     *
+     * @return The total time in milliseconds.
+     */
+    @Override
+    public double getTotalMillis() {
+        LatencyHistogram latency = counters.latency;
+        return latency.getMeanMicros() * latency.getCount() / 1000.0;
+    }
+
+    /**
+     * Sets every counter back to zero.
+     */
+    @Override
+    public void reset() {
+        counters = new Counters();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-45s %9d %7d %10d %9.2f %9.2f %9.2f %9.2f %11.1f",
+                name, getCalls(), getErrors(), getRows(), getP50Millis(), getP95Millis(), getP99Millis(),
+                getMaxMillis(), getTotalMillis());
+    }
+}
@@ -0,0 +1,35 @@
+package utils;
+
+/**
+ * The management interface of a {@link MethodStats}, through which each
+ * instrumented method is published over JMX. Times are in milliseconds and
+ * cover every call since the start or the last reset.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public interface MethodStatsMXBean {
+
+    String getName();
+
+    long getCalls();
+
+    long getErrors();
+
+    long getRows();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+
+    double getTotalMillis();
+
+    void reset();
+}
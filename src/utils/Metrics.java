@@ -0,0 +1,284 @@
+package utils;
+
+import config.AppConfig;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The application's method metrics. Repositories and services are wrapped in
+ * a proxy that times every call of their interface and counts calls, errors and
+ * rows. Each method's {@link MethodStats} is published as a JMX MBean under
+ * {@code coffee:type=<layer>,name=<Interface.method>}, and the whole set can be
+ * built as a text report on demand, or logged every
+ * {@link AppConfig#METRICS_DUMP_SECONDS} seconds.
+ * <p>
+ * A call's rows are the size of a returned list, the count returned by
+ * {@code saveAll}, or one for any other returned object. Rows of a returned
+ * stream are counted as the stream is read, and its time only covers opening
+ * it. With {@link AppConfig#METRICS_ENABLED} off, nothing is wrapped.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class Metrics {
+    public static final String REPOSITORY = "Repository";
+    public static final String SERVICE = "Service";
+
+    private static final Metrics instance = new Metrics();
+
+    private final Map<String, MethodStats> methods = new ConcurrentHashMap<>();
+    private final List<Supplier<String>> sections = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService dumper;
+
+    /**
+     * Private constructor to enforce the singleton pattern.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Returns the single instance of {@code Metrics}.
+     *
+     * @return The metrics registry.
+     */
+    public static Metrics getInstance() {
+        return instance;
+    }
+
+    /**
+     * Wraps an object so that every call through the given interface is
+     * recorded.
+     *
+     * @param type   The interface to instrument.
+     * @param target The object calls are forwarded to.
+     * @param layer  The layer the object belongs to, such as
+     *               {@link #REPOSITORY} or {@link #SERVICE}.
+     * @param <T>    The interface type.
+     * @return The instrumented object, or {@code target} itself if metrics are
+     *         disabled.
+     */
+    public <T> T instrument(Class<T> type, T target, String layer) {
+        if (!AppConfig.METRICS_ENABLED) {
+            return target;
+        }
+        String prefix = type.getSimpleName().replaceFirst("^I(?=[A-Z])", "");
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[] { type },
+                new MetricsHandler(type, target, prefix, layer)));
+    }
+
+    /**
+     * Returns the statistics of a method, creating and publishing them on first
+     * use.
+     *
+     * @param layer The layer the method belongs to.
+     * @param name  The method name, for example {@code "OrderService.createOrder"}.
+     * @return The method's statistics.
+     */
+    public MethodStats stats(String layer, String name) {
+        return methods.computeIfAbsent(layer + "/" + name, key -> {
+            MethodStats stats = new MethodStats(name);
+            register(layer, stats);
+            return stats;
+        });
+    }
+
+    /**
+     * Publishes a method's statistics over JMX. A failure is reported and the
+     * method is still recorded.
+     *
+     * @param layer The layer the method belongs to.
+     * @param stats The method's statistics.
+     */
+    private static void register(String layer, MethodStats stats) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(
+                    "coffee:type=" + layer + ",name=" + ObjectName.quote(stats.getName()));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(stats, objectName);
+            }
+        } catch (JMException e) {
+            Log.warn("Failed to register metrics for {}: {}", stats.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Adds lines to the end of every report, such as cache or pool statistics.
+     *
+     * @param section Returns the lines to print.
+     */
+    public void addSection(Supplier<String> section) {
+        sections.add(section);
+    }
+
+    /**
+     * Sets every method's counters back to zero.
+     */
+    public void reset() {
+        methods.values().forEach(MethodStats::reset);
+    }
+
+    /**
+     * Builds a text report of every method that has been called, grouped by
+     * layer and ordered by the total time spent in it, followed by the added
+     * sections.
+     *
+     * @return The report.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        List<String> layers = methods.keySet().stream()
+                .map(key -> key.substring(0, key.indexOf('/')))
+                .distinct()
+                .sorted()
+                .toList();
+        for (String layer : layers) {
+            report.append(String.format("%-45s %9s %7s %10s %9s %9s %9s %9s %11s%n",
+                    layer, "Calls", "Errors", "Rows", "p50 ms", "p95 ms", "p99 ms", "max ms", "total ms"));
+            // Take each total once, since calls keep changing them while sorting
+            Map<String, Double> totals = new HashMap<>();
+            List<String> called = new ArrayList<>();
+            methods.forEach((key, stats) -> {
+                if (key.startsWith(layer + "/") && stats.getCalls() > 0) {
+                    totals.put(key, stats.getTotalMillis());
+                    called.add(key);
+                }
+            });
+            called.sort(Comparator.comparing(totals::get, Comparator.reverseOrder()));
+            called.forEach(key -> report.append(methods.get(key)).append(System.lineSeparator()));
+            report.append(System.lineSeparator());
+        }
+        for (Supplier<String> section : sections) {
+            report.append(section.get()).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    /**
+     * Logs the report every given number of seconds on a background thread.
+     * Calling it again replaces the previous schedule.
+     *
+     * @param seconds The interval, or {@code 0} to stop logging.
+     */
+    public synchronized void startDumping(long seconds) {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+        if (seconds <= 0) {
+            return;
+        }
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> Log.info("Metrics:{}{}", System.lineSeparator(), report()),
+                seconds, seconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The invocation handler behind each instrumented object. It times every
+     * interface call and forwards it to the wrapped object.
+     */
+    private class MetricsHandler implements InvocationHandler {
+        private final Class<?> type;
+        private final Object target;
+        private final String prefix;
+        private final String layer;
+        private final Map<Method, MethodStats> statsByMethod = new ConcurrentHashMap<>();
+
+        MetricsHandler(Class<?> type, Object target, String prefix, String layer) {
+            this.type = type;
+            this.target = target;
+            this.prefix = prefix;
+            this.layer = layer;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return "Instrumented[" + target + "]";
+                }
+            }
+
+            MethodStats stats = statsByMethod.computeIfAbsent(method, m -> stats(layer, prefix + "." + nameOf(m)));
+            long start = System.nanoTime();
+            boolean failed = true;
+            Object result;
+            try {
+                result = method.invoke(target, args);
+                failed = false;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                stats.recordCall(System.nanoTime() - start, failed);
+            }
+
+            if (result instanceof Stream<?> stream) {
+                return stream.peek(row -> stats.recordRows(1));
+            }
+            if (result instanceof Collection<?> rows) {
+                stats.recordRows(rows.size());
+            } else if (result instanceof Integer count && method.getName().equals("saveAll")) {
+                stats.recordRows(count);
+            } else if (result != null && !(result instanceof Number) && !(result instanceof Boolean)) {
+                stats.recordRows(1);
+            }
+            return result;
+        }
+
+        /**
+         * Returns the name a method's statistics are kept under. Overloaded
+         * methods get their parameter types added, for example
+         * {@code getOrderHistory(int,int,int)}, so each overload is measured on
+         * its own.
+         *
+         * @param method The method.
+         * @return The method's name, with its parameter types if it is
+         *         overloaded.
+         */
+        private String nameOf(Method method) {
+            long overloads = Arrays.stream(type.getMethods())
+                    .filter(other -> other.getName().equals(method.getName()))
+                    .count();
+            if (overloads <= 1) {
+                return method.getName();
+            }
+            return Arrays.stream(method.getParameterTypes())
+                    .map(Class::getSimpleName)
+                    .collect(Collectors.joining(",", method.getName() + "(", ")"));
+        }
+    }
+}
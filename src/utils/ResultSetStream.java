@@ -0,0 +1,114 @@
+package utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A utility class for reading a query result as a {@link Stream} instead of a
+ * {@code List}. The query runs on a forward-only, read-only cursor that fetches
+ * a configurable number of rows at a time, and each row is mapped only when the
+ * stream asks for it. Processing a result of any size therefore keeps a single
+ * fetch worth of rows in memory.
+ * <p>
+ * The stream holds a pooled connection until it is closed, so callers must
+ * close it, preferably with try-with-resources. Closing the stream closes the
+ * result set and the statement and returns the connection to the pool.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+public class ResultSetStream {
+
+    /**
+     * Maps the current row of a {@link ResultSet} to an object.
+     *
+     * @param <T> The type of the mapped row.
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Runs a query and returns its rows as a lazily read stream.
+     *
+     * @param pool      The {@link ConnectionPool} to borrow a connection from.
+     * @param sql       The query to run. It takes no parameters.
+     * @param fetchSize The number of rows fetched from the database at a time.
+     * @param mapper    Maps each row to an object.
+     * @param <T>       The type of the mapped rows.
+     * @return A sequential stream of the mapped rows, which must be closed.
+     * @throws SQLException If the query cannot be run; nothing is left open in
+     *                      that case.
+     */
+    public static <T> Stream<T> stream(ConnectionPool pool, String sql, int fetchSize, RowMapper<T> mapper)
+            throws SQLException {
+        Connection connection = pool.getConnection();
+        PreparedStatement stmt = null;
+        ResultSet rs;
+        try {
+            stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(fetchSize);
+            rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(stmt, connection);
+            throw e;
+        }
+
+        PreparedStatement openStmt = stmt;
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(rs));
+                    return true;
+                } catch (SQLException e) {
+                    throw new RuntimeException("Stream Failed: " + e.getMessage(), e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            try {
+                rs.close();
+            } catch (SQLException e) {
+                Log.error("Failed to close result set: {}", e.getMessage());
+            }
+            closeQuietly(openStmt, connection);
+        });
+    }
+
+    /**
+     * Closes a statement and returns its connection to the pool, printing any
+     * error instead of throwing it.
+     *
+     * @param stmt       The statement to close, or {@code null}.
+     * @param connection The pooled connection to close.
+     */
+    private static void closeQuietly(PreparedStatement stmt, Connection connection) {
+        try {
+            if (stmt != null) {
+                stmt.close();
+            }
+        } catch (SQLException e) {
+            Log.error("Failed to close statement: {}", e.getMessage());
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            Log.error("Failed to close connection: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A least-recently-used cache of {@link PreparedStatement}s for a single
+ * physical connection, keyed by SQL text and generated-keys mode. The
+ * {@link ConnectionPool} keeps one cache per physical connection for as long
+ * as the connection stays open, so a repository that prepares the same SQL on
+ * every call gets back the already compiled statement.
+ * <p>
+ * Statements handed out by the cache are wrappers: closing them clears their
+ * parameters and makes them available again instead of closing the underlying
+ * statement. Statements evicted from the cache are closed once they are no
+ * longer in use.
+ *
+ * @author Ian Frye
+ * @version 1.0
+ * @since 2025-04-20
+ */
+class StatementCache {
+    private final int capacity;
+    private final Counters counters;
+    private final Map<Key, CachedStatement> statements;
+
+    /**
+     * Hit, miss and eviction counters shared by every cache in a pool.
+     */
+    static class Counters {
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong evictions = new AtomicLong();
+    }
+
+    /**
+     * The identity of a cached statement: its SQL text and whether it returns
+     * generated keys.
+     */
+    private record Key(String sql, int autoGeneratedKeys) {
+    }
+
+    /**
+     * A physical statement held by the cache together with its usage state.
+     */
+    private static class CachedStatement {
+        private final PreparedStatement physical;
+        private boolean inUse;
+        private boolean evicted;
+
+        CachedStatement(PreparedStatement physical) {
+            this.physical = physical;
+        }
+    }
+
+    /**
+     * Constructs a new {@code StatementCache}.
+     *
+     * @param capacity The maximum number of statements kept open.
+     * @param counters The counters hits, misses and evictions are recorded in.
+     */
+    StatementCache(int capacity, Counters counters) {
+        this.capacity = capacity;
+        this.counters = counters;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedStatement> eldest) {
+                if (size() <= StatementCache.this.capacity) {
+                    return false;
+                }
+                evict(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns a prepared statement for the given SQL, reusing a cached one when
+     * possible. If the cached statement for this SQL is already in use (for
+     * example by a nested query on the same connection), an uncached statement
+     * is prepared instead.
+     *
+     * @param owner             The pooled connection the statement should report
+     *                          as its connection.
+     * @param physical          The physical connection to prepare on.
+     * @param sql               The SQL text.
+     * @param autoGeneratedKeys A {@link Statement} generated-keys flag, or
+     *                          {@code -1} when none was requested.
+     * @return A {@link PreparedStatement} whose {@code close()} returns it to the
+     *         cache.
+     * @throws SQLException If the statement cannot be prepared.
+     */
+    synchronized PreparedStatement prepare(Connection owner, Connection physical, String sql,
+            int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        CachedStatement cached = statements.get(key);
+
+        if (cached != null && !cached.inUse) {
+            counters.hits.incrementAndGet();
+            cached.inUse = true;
+            return wrap(owner, cached);
+        }
+
+        counters.misses.incrementAndGet();
+        PreparedStatement statement = autoGeneratedKeys == -1
+                ? physical.prepareStatement(sql)
+                : physical.prepareStatement(sql, autoGeneratedKeys);
+
+        if (cached != null || capacity <= 0) {
+            // Leave the cached statement alone; this one is closed after use.
+            CachedStatement uncached = new CachedStatement(statement);
+            uncached.inUse = true;
+            uncached.evicted = true;
+            return wrap(owner, uncached);
+        }
+
+        cached = new CachedStatement(statement);
+        cached.inUse = true;
+        statements.put(key, cached);
+        return wrap(owner, cached);
+    }
+
+    /**
+     * Closes every statement held by the cache. Called when the physical
+     * connection is discarded.
+     */
+    synchronized void close() {
+        Iterator<CachedStatement> iterator = statements.values().iterator();
+        while (iterator.hasNext()) {
+            closeQuietly(iterator.next().physical);
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Marks a statement as evicted, closing it right away unless a caller is
+     * still using it.
+     *
+     * @param cached The statement being removed from the cache.
+     */
+    private void evict(CachedStatement cached) {
+        counters.evictions.incrementAndGet();
+        cached.evicted = true;
+        if (!cached.inUse) {
+            closeQuietly(cached.physical);
+        }
+    }
+
+    /**
+     * Called when a caller closes a statement handed out by this cache.
+     *
+     * @param cached The statement being returned.
+     */
+    private synchronized void release(CachedStatement cached) {
+        cached.inUse = false;
+        if (cached.evicted) {
+            closeQuietly(cached.physical);
+            return;
+        }
+        try {
+            cached.physical.clearParameters();
+        } catch (SQLException e) {
+            statements.values().remove(cached);
+            closeQuietly(cached.physical);
+        }
+    }
+
+    /**
+     * Closes a statement, ignoring any error.
+     *
+     * @param statement The statement to close.
+     */
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // Nothing useful to do, the connection is going away anyway.
+        }
+    }
+
+    /**
+     * Wraps a cached statement in a proxy whose {@code close()} returns it to
+     * this cache. Result sets opened through the proxy are closed when the proxy
+     * is closed, just like with a regular statement, so an unclosed result set
+     * never keeps an auto-commit transaction open.
+     *
+     * @param owner  The pooled connection reported by {@code getConnection()}.
+     * @param cached The statement to wrap.
+     * @return The {@link PreparedStatement} handed to the caller.
+     */
+    private PreparedStatement wrap(Connection owner, CachedStatement cached) {
+        InvocationHandler handler = new InvocationHandler() {
+            private final List<ResultSet> openResults = new ArrayList<>(1);
+            private boolean returned;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!returned) {
+                            returned = true;
+                            for (ResultSet rs : openResults) {
+                                rs.close();
+                            }
+                            release(cached);
+                        }
+                        return null;
+                    case "isClosed":
+                        return returned || cached.physical.isClosed();
+                    case "getConnection":
+                        return owner;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "CachedStatement[" + cached.physical + "]";
+                    default:
+                        if (returned) {
+                            throw new SQLException("Statement has already been closed");
+                        }
+                        try {
+                            Object result = method.invoke(cached.physical, args);
+                            if (result instanceof ResultSet rs) {
+                                openResults.add(rs);
+                            }
+                            return result;
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                handler);
+    }
+
+    /**
+     * Returns the number of statements currently held by the cache.
+     *
+     * @return The cache size.
+     */
+    synchronized int size() {
+        return statements.size();
+    }
+}
@@ -3,12 +3,15 @@ package views;
 import components.StyledInputs;
 import components.Typography;
 import components.tables.CoffeeTable;
+import entites.Customer;
 import listeners.CoffeeMenuActionListeners;
 import listeners.CoffeeMenuActionMenus.AccountMenuListeners;
 import listeners.CoffeeMenuActionMenus.AdminMenuListeners;
 import listeners.CoffeeMenuActionMenus.CoffeeMenuListeners;
 import services.ImageIconService;
 import stores.AuthStore;
+import stores.StoreChange;
+import utils.Log;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -43,7 +46,7 @@ public class CoffeeMenuView extends SuperView {
     public CoffeeMenuView() {
         super("Coffee Menu");
         authStore = AuthStore.getInstance();
-        authStore.subscribe(this::updateCustomerInfo);
+        authStore.subscribe(this, this::updateCustomerInfo);
         CoffeeMenuActionListeners coffeeMenuActionListeners = new CoffeeMenuActionListeners(controller);
         CoffeeMenuListeners coffeeMenuListeners = new CoffeeMenuListeners(controller);
         AccountMenuListeners accountMenuListeners = new AccountMenuListeners(controller, this);
@@ -160,9 +163,7 @@ public class CoffeeMenuView extends SuperView {
         addNewCoffeeItem.addActionListener(coffeeMenuListeners.getAddNewCoffeeButtonListener());
         updateAccountItem.addActionListener(accountMenuListeners.getUpdateAccountActionListener());
         viewAccountItem.addActionListener(accountMenuListeners.getViewAccountActionListener());
-        deleteAccountItem.addActionListener(
-                accountMenuListeners.getDeleteAccountActionListener(
-                        authStore.get() != null ? authStore.get().getCustomerId() : -1));
+        deleteAccountItem.addActionListener(accountMenuListeners.getDeleteAccountActionListener());
         addCreditsItem.addActionListener(accountMenuListeners.getAddCreditsActionListener());
         viewAllCustomersItem.addActionListener(adminMenuListeners.getViewAllCustomersListener());
         viewAllOrdersItem.addActionListener(adminMenuListeners.getViewAllOrdersListener());
@@ -179,26 +180,61 @@ public class CoffeeMenuView extends SuperView {
     /**
      * Updates the displayed customer infoprmation (email and credits) in the menu
      * bar. This method is called whenever the authenticated customer in the
-     * {@link AuthStore} changes.
+     * {@link AuthStore} changes. When one customer's details replace another's,
+     * only the menu items whose values differ are updated.
+     *
+     * @param change The change to the authenticated customer.
      */
-    private void updateCustomerInfo() {
-        System.out.println("Updating customer info");
-        if (authStore.get() != null) {
-            currentUserItem.setText("Logged in as: " + authStore.get().getEmail());
+    private void updateCustomerInfo(StoreChange<Customer> change) {
+        Log.debug("Updating customer info");
+        Customer customer = change.newValue();
+        Customer previous = change.oldValue();
+        // The same object may have been changed in place, so compare only distinct ones
+        if (customer == null || previous == null || customer == previous) {
+            showCustomerInfo(customer);
+            return;
+        }
+        if (!customer.getEmail().equals(previous.getEmail())) {
+            currentUserItem.setText("Logged in as: " + customer.getEmail());
+        }
+        if (customer.getCreditLimit() != previous.getCreditLimit()) {
+            creditsItem.setText("Credits: $" + String.format("%.2f", customer.getCreditLimit()));
+        }
+    }
+
+    /**
+     * Shows a customer's email and credits in the menu bar.
+     *
+     * @param customer The logged-in customer, or {@code null} if nobody is
+     *                 logged in.
+     */
+    private void showCustomerInfo(Customer customer) {
+        if (customer != null) {
+            currentUserItem.setText("Logged in as: " + customer.getEmail());
             creditsItem.setText(
-                    "Credits: $" + String.format("%.2f", authStore.get().getCreditLimit()));
+                    "Credits: $" + String.format("%.2f", customer.getCreditLimit()));
         } else {
             currentUserItem.setText("Not logged in");
             creditsItem.setText("Credits: $0.00");
         }
     }
 
+    /**
+     * Updates the customer information and reloads the coffee table, since the
+     * logged-in customer or the menu may have changed while the view was hidden.
+     */
+    @Override
+    public void refresh() {
+        showCustomerInfo(authStore.get());
+        refreshTable();
+    }
+
     /**
      * Refreshes the {@link CoffeeTable} by reloading the data and repainting the
      * component.
      */
     public void refreshTable() {
-        System.out.println("Refreshing table");
+        Log.debug("Refreshing table");
         coffeeTable.loadData(); // Explicitly load the data
         this.revalidate(); // Ensure the UI updates
         this.repaint(); // Repaint the component
@@ -4,7 +4,7 @@ import components.CoffeeSelectComboBox;
 import components.QuantitySpinner;
 import components.StyledInputs;
 import components.Typography;
-import entites.Coffee;
+import entites.Customer;
 import listeners.CreateOrderViewListeners;
 import stores.AuthStore;
 
@@ -27,6 +27,10 @@ import java.awt.*;
  * @since 2025-04-20
  */
 public class CreateOrderView extends SuperView {
+    private final JTextField firstNameField;
+    private final JTextField lastNameField;
+    private final CoffeeSelectComboBox coffeeComboBox;
+    private final JSpinner quantitySpinner;
     private JLabel subtotalLabel;
     private JLabel taxLabel;
     private JLabel totalLabel;
@@ -70,11 +74,11 @@ public class CreateOrderView extends SuperView {
 
         addSectionHeader(mainPanel, gbc, "Customer Information", 2, 0);
 
-        JTextField firstNameField = new StyledInputs.StyledTextField(true,
+        firstNameField = new StyledInputs.StyledTextField(true,
                 authStore.get() != null ? authStore.get().getFirstName() : "");
         addFormField(mainPanel, gbc, "First Name:", firstNameField, 3, 0);
 
-        JTextField lastNameField = new StyledInputs.StyledTextField(true,
+        lastNameField = new StyledInputs.StyledTextField(true,
                 authStore.get() != null ? authStore.get().getLastName() : "");
         addFormField(mainPanel, gbc, "Last Name:", lastNameField, 4, 0);
 
@@ -83,10 +87,10 @@ public class CreateOrderView extends SuperView {
 
         addSectionHeader(mainPanel, gbc, "Order Details", 2, 1);
 
-        JComboBox<Coffee> coffeeComboBox = new CoffeeSelectComboBox(controller);
+        coffeeComboBox = new CoffeeSelectComboBox(controller);
         addFormField(mainPanel, gbc, "Select Coffee:", coffeeComboBox, 3, 1);
 
-        JSpinner quantitySpinner = new QuantitySpinner();
+        quantitySpinner = new QuantitySpinner();
         addFormField(mainPanel, gbc, "Quantity:", quantitySpinner, 4, 1);
 
         // Price Summary (spans both columns)
@@ -140,6 +144,23 @@ public class CreateOrderView extends SuperView {
         setLocationRelativeTo(null);
     }
 
+    /**
+     * Resets the form for a new order: fills in the logged-in customer's name,
+     * reloads the in-stock coffees and sets the quantity and prices back to
+     * zero.
+     */
+    @Override
+    public void refresh() {
+        Customer customer = AuthStore.getInstance().get();
+        firstNameField.setText(customer != null ? customer.getFirstName() : "");
+        lastNameField.setText(customer != null ? customer.getLastName() : "");
+        quantitySpinner.setValue(0);
+        subtotalLabel.setText("0.00");
+        taxLabel.setText("0.00");
+        totalLabel.setText("0.00");
+        coffeeComboBox.reload();
+    }
+
     /**
      * Helper method to add a labeled form field to the panel.
      *
@@ -2,10 +2,11 @@ package views;
 
 import components.StyledInputs;
 import components.Typography;
+import dto.OrderHistoryRow;
 import entites.Customer;
-import entites.Order;
 import enums.ViewType;
 import stores.AuthStore;
+import utils.AsyncLoader;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -17,7 +18,8 @@ import java.util.List;
  * It retrieves the customer's information from the {@link AuthStore} and their
  * order history from the controller. The view presents the customer's name and
  * the total number of orders, followed by a list of individual orders, each
- * showing the coffee name, quantity, and total price. If no orders are found,
+ * showing the coffee name, quantity, and total price. The orders are loaded in
+ * the background while a loading message is shown. If no orders are found,
  * a message indicating this is displayed. A "Back to Menu" button allows
  * navigation back to the main coffee menu. This view uses {@link GridBagLayout}
  * for flexible layout management within the main panel and individual order
@@ -29,18 +31,17 @@ import java.util.List;
  */
 public class CustomerOrderHistoryView extends SuperView {
     private final Customer currentCustomer;
-    private final List<Order> customerOrders;
+    private final JLabel ordersLabel = new JLabel("Total Orders: …");
+    private final JPanel ordersContainer = new JPanel(new BorderLayout());
 
     /**
      * Constructs the {@code CustomerOrderHistoryView}, retrieving the logged-in
-     * customer and their order history, and initializing the UI components to
-     * display this information.
+     * customer, initializing the UI components and starting to load their order
+     * history in the background.
      */
     public CustomerOrderHistoryView() {
         super("Order History");
         currentCustomer = AuthStore.getInstance().get();
-        AuthStore authStore = AuthStore.getInstance();
-        this.customerOrders = controller.getOrderService().getOrdersByCustomerId(authStore.get().getCustomerId());
 
         setMinimumSize(new Dimension(800, 600));
         setLayout(new BorderLayout());
@@ -67,23 +68,12 @@ public class CustomerOrderHistoryView extends SuperView {
         mainPanel.add(customerInfoPanel, gbc);
 
         // Orders Section
-        if (customerOrders.isEmpty()) {
-            JLabel noOrdersLabel = new JLabel("No orders found");
-            noOrdersLabel.setFont(new Font("Segoe UI", Font.ITALIC, 16));
-            noOrdersLabel.setHorizontalAlignment(SwingConstants.CENTER);
-            gbc.gridy = 2;
-            mainPanel.add(noOrdersLabel, gbc);
-        } else {
-            JPanel ordersPanel = createOrdersPanel();
-            JScrollPane scrollPane = new JScrollPane(ordersPanel);
-            scrollPane.setBorder(null);
-            scrollPane.getVerticalScrollBar().setUnitIncrement(16);
-
-            gbc.gridy = 2;
-            gbc.fill = GridBagConstraints.BOTH;
-            gbc.weighty = 1.0;
-            mainPanel.add(scrollPane, gbc);
-        }
+        ordersContainer.setBackground(Color.WHITE);
+        ordersContainer.add(createMessageLabel("Loading orders…"), BorderLayout.NORTH);
+        gbc.gridy = 2;
+        gbc.fill = GridBagConstraints.BOTH;
+        gbc.weighty = 1.0;
+        mainPanel.add(ordersContainer, gbc);
 
         // Back Button
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
@@ -98,6 +88,47 @@ public class CustomerOrderHistoryView extends SuperView {
         mainPanel.add(buttonPanel, gbc);
 
         add(mainPanel, BorderLayout.CENTER);
+
+        AsyncLoader.load(this,
+                () -> controller.getOrderService().getOrderHistory(currentCustomer.getCustomerId()),
+                this::showOrders);
+    }
+
+    /**
+     * Replaces the loading message with the loaded orders, or with a message if
+     * the customer has none.
+     *
+     * @param customerOrders The customer's orders.
+     */
+    private void showOrders(List<OrderHistoryRow> customerOrders) {
+        ordersLabel.setText("Total Orders: " + customerOrders.size());
+        ordersContainer.removeAll();
+
+        if (customerOrders.isEmpty()) {
+            ordersContainer.add(createMessageLabel("No orders found"), BorderLayout.NORTH);
+        } else {
+            JPanel ordersPanel = createOrdersPanel(customerOrders);
+            JScrollPane scrollPane = new JScrollPane(ordersPanel);
+            scrollPane.setBorder(null);
+            scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+            ordersContainer.add(scrollPane, BorderLayout.CENTER);
+        }
+
+        ordersContainer.revalidate();
+        ordersContainer.repaint();
+    }
+
+    /**
+     * Creates a centered, italic label used for the loading and empty messages.
+     *
+     * @param text The message text.
+     * @return The message {@code JLabel}.
+     */
+    private JLabel createMessageLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(new Font("Segoe UI", Font.ITALIC, 16));
+        label.setHorizontalAlignment(SwingConstants.CENTER);
+        return label;
     }
 
     /**
@@ -126,8 +157,7 @@ public class CustomerOrderHistoryView extends SuperView {
         gbc.gridy = 0;
         panel.add(nameLabel, gbc);
 
-        // Total orders
-        JLabel ordersLabel = new JLabel("Total Orders: " + customerOrders.size());
+        // Total orders, filled in once the orders have loaded
         ordersLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         gbc.gridy = 1;
         panel.add(ordersLabel, gbc);
@@ -139,9 +169,10 @@ public class CustomerOrderHistoryView extends SuperView {
      * Creates and returns a panel containing individual order cards for each
      * order in the customer's history.
      *
+     * @param customerOrders The orders to create cards for.
      * @return A {@code JPanel} containing the list of order cards.
      */
-    private JPanel createOrdersPanel() {
+    private JPanel createOrdersPanel(List<OrderHistoryRow> customerOrders) {
         JPanel panel = new JPanel(new GridBagLayout());
         panel.setBackground(Color.WHITE);
         GridBagConstraints gbc = new GridBagConstraints();
@@ -151,7 +182,7 @@ public class CustomerOrderHistoryView extends SuperView {
         gbc.insets = new Insets(0, 0, 10, 0);
 
         for (int i = 0; i < customerOrders.size(); i++) {
-            Order order = customerOrders.get(i);
+            OrderHistoryRow order = customerOrders.get(i);
             JPanel orderCard = createOrderCard(order);
             gbc.gridy = i;
             panel.add(orderCard, gbc);
@@ -164,10 +195,10 @@ public class CustomerOrderHistoryView extends SuperView {
      * Creates and returns a panel representing a single order, displaying the
      * coffee name, quantity ordered, and the total price of the order.
      *
-     * @param order The {@link Order} object to create the card for.
+     * @param order The {@link OrderHistoryRow} to create the card for.
      * @return A {@code JPanel} representing an order card.
      */
-    private JPanel createOrderCard(Order order) {
+    private JPanel createOrderCard(OrderHistoryRow order) {
         JPanel card = new JPanel(new GridBagLayout());
         card.setBackground(Color.WHITE);
         card.setBorder(BorderFactory.createCompoundBorder(
@@ -179,7 +210,7 @@ public class CustomerOrderHistoryView extends SuperView {
         gbc.insets = new Insets(2, 5, 2, 5);
 
         // Coffee name and quantity
-        JLabel coffeeLabel = new JLabel(order.getCoffee().getCoffeeName());
+        JLabel coffeeLabel = new JLabel(order.getCoffeeName());
         coffeeLabel.setFont(new Font("Segoe UI", Font.BOLD, 16));
         gbc.gridx = 0;
         gbc.gridy = 0;
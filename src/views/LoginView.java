@@ -22,6 +22,8 @@ import java.net.URL;
  * @since 2025-04-20
  */
 public class LoginView extends SuperView {
+    private final JTextField emailField;
+    private final JPasswordField passwordField;
 
     /**
      * Constructs the {@code LoginView}, initializing its UI components, layout,
@@ -75,12 +77,12 @@ public class LoginView extends SuperView {
         mainPanel.add(subtitleLabel, gbc);
 
         // Email
-        JTextField emailField = new StyledInputs.StyledTextField();
+        emailField = new StyledInputs.StyledTextField();
 
         addFormField(mainPanel, gbc, "Email:", emailField, 3);
 
         // Password
-        JPasswordField passwordField = new StyledInputs.StyledPasswordField(20);
+        passwordField = new StyledInputs.StyledPasswordField(20);
         addFormField(mainPanel, gbc, "Password:", passwordField, 5);
 
         JPanel buttonsPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 10));
@@ -105,10 +107,32 @@ public class LoginView extends SuperView {
 
         loginButton.addActionListener(listeners.getLoginButtonListener());
         getRootPane().setDefaultButton(loginButton);
+
+        // The login view is shown while the database is still starting; logging in
+        // or creating an account has to wait for it, but the event thread must not
+        if (!controller.isDatabaseReady()) {
+            loginButton.setEnabled(false);
+            createAccountButton.setEnabled(false);
+            controller.whenDatabaseReady(() -> {
+                loginButton.setEnabled(true);
+                createAccountButton.setEnabled(true);
+            });
+        }
         pack();
         setLocationRelativeTo(null);
     }
 
+    /**
+     * Clears the email and password fields, so the last user's details are not
+     * shown after logging out.
+     */
+    @Override
+    public void refresh() {
+        emailField.setText("");
+        passwordField.setText("");
+        emailField.requestFocusInWindow();
+    }
+
     /**
      * Helper method to add a labeled form field (e.g., JTextField, JPasswordField)
      * to the panel using the provided GridBagConstraints.
@@ -1,6 +1,7 @@
 package views;
 
 import controllers.AppController;
+import services.ImageIconService;
 
 import javax.swing.*;
 import java.awt.*;
@@ -39,8 +40,20 @@ public class SuperView extends JFrame {
         setLayout(new BorderLayout());
         setTitle("Java Cafe - " + title);
 
-        ImageIcon appIcon = new ImageIcon("src/assets/images/icon.png");
-        setIconImage(appIcon.getImage());
+        ImageIcon appIcon = ImageIconService.getAppIcon();
+        if (appIcon != null) {
+            setIconImage(appIcon.getImage());
+        }
+    }
+
+    /**
+     * Brings the view up to date before it is shown again. The
+     * {@link controllers.ViewManager} keeps views of reusable
+     * {@link enums.ViewType}s instead of rebuilding them and calls this each
+     * time one is shown again, so a reusable view reloads its data and clears
+     * its inputs here. The default does nothing.
+     */
+    public void refresh() {
     }
 
     /**
@@ -6,6 +6,7 @@ import components.TitlePanel;
 import components.tables.CustomerTable;
 import enums.ViewType;
 import stores.SelectedCustomerStore;
+import utils.AsyncLoader;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -26,6 +27,7 @@ import java.awt.*;
  */
 public class ViewAllCustomersView extends SuperView {
     private final CustomerTable customerTable;
+    private final JLabel totalCustomersLabel = new JLabel();
 
     /**
      * Constructs the {@code ViewAllCustomersView}, initializing its UI components,
@@ -60,8 +62,7 @@ public class ViewAllCustomersView extends SuperView {
         // Info Panel
         JPanel infoPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         infoPanel.setBackground(new Color(245, 245, 245));
-        JLabel totalCustomersLabel = new JLabel(
-                "Total Customers: " + controller.getCustomerService().getAllCustomers().size());
+        loadCustomerCount();
         totalCustomersLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
         totalCustomersLabel.setBorder(new EmptyBorder(0, 0, 10, 20));
         infoPanel.add(totalCustomersLabel);
@@ -78,6 +79,26 @@ public class ViewAllCustomersView extends SuperView {
         setLocationRelativeTo(null);
     }
 
+    /**
+     * Reloads the customer table and the customer count, since customers may
+     * have been added, changed or deleted while the view was hidden.
+     */
+    @Override
+    public void refresh() {
+        customerTable.loadData();
+        loadCustomerCount();
+    }
+
+    /**
+     * Shows a placeholder in the total customers label and loads the count in
+     * the background.
+     */
+    private void loadCustomerCount() {
+        totalCustomersLabel.setText("Total Customers: …");
+        AsyncLoader.load(this, () -> controller.getCustomerService().getCustomerCount(),
+                count -> totalCustomersLabel.setText("Total Customers: " + count));
+    }
+
     /**
      * Creates and returns the "View Details" button, attaching an action listener
      * that handles the navigation to the {@link CustomerDetailView} for the
@@ -5,6 +5,7 @@ import components.TableJPanel;
 import components.TitlePanel;
 import components.tables.OrderTable;
 import entites.Order;
+import utils.AsyncLoader;
 import utils.DialogUtils;
 
 import javax.swing.*;
@@ -17,15 +18,20 @@ import java.awt.*;
  * from the controller's order service. Administrators can select an order
  * from the table and click a "View Details" button (currently non-functional
  * in this view) for more information. The view also displays the total number
- * of orders and the total revenue generated from all orders. It utilizes a
- * {@link BorderLayout} for overall layout and custom table and title
- * components.
+ * of orders, the total revenue generated from all orders and the average,
+ * minimum and maximum order total, all read with one aggregate query. It
+ * utilizes a {@link BorderLayout} for overall layout and custom table and
+ * title components.
  * 
  * @author Ian Frye
  * @version 1.0
  * @since 2025-04-20
  */
 public class ViewAllOrdersView extends SuperView {
+    private final OrderTable orderTable;
+    private final JLabel totalOrdersLabel = new JLabel("", SwingConstants.RIGHT);
+    private final JLabel revenueLabel = new JLabel("", SwingConstants.RIGHT);
+    private final JLabel averageLabel = new JLabel("", SwingConstants.RIGHT);
 
     /**
      * Constructs the {@code ViewAllOrdersView}, initializing its UI components,
@@ -46,7 +52,7 @@ public class ViewAllOrdersView extends SuperView {
         add(titlePanel, BorderLayout.NORTH);
 
         // Order Table
-        OrderTable orderTable = new OrderTable(controller);
+        orderTable = new OrderTable(controller);
         orderTable.loadData(); // Load the order data
 
         // Add table to scroll pane
@@ -60,27 +66,19 @@ public class ViewAllOrdersView extends SuperView {
         JPanel bottomPanel = new TableJPanel(controller, viewDetailsButton);
 
         // Info Panel
-        JPanel infoPanel = new JPanel(new GridLayout(2, 1, 0, 5));
+        JPanel infoPanel = new JPanel(new GridLayout(3, 1, 0, 5));
         infoPanel.setBackground(new Color(245, 245, 245));
         infoPanel.setBorder(new EmptyBorder(0, 0, 10, 20));
 
-        // Total Orders
-        JLabel totalOrdersLabel = new JLabel(
-                "Total Orders: " + controller.getOrderService().getAllOrders().size(),
-                SwingConstants.RIGHT);
+        // Total Orders and Total Revenue, filled in once the stats have loaded
         totalOrdersLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
-
-        // Total Revenue
-        double totalRevenue = controller.getOrderService().getAllOrders().stream()
-                .mapToDouble(Order::getTotal)
-                .sum();
-        JLabel revenueLabel = new JLabel(
-                String.format("Total Revenue: $%.2f", totalRevenue),
-                SwingConstants.RIGHT);
         revenueLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        averageLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        loadStats();
 
         infoPanel.add(totalOrdersLabel);
         infoPanel.add(revenueLabel);
+        infoPanel.add(averageLabel);
 
         // Combine bottom panels
         JPanel southPanel = new JPanel(new BorderLayout());
@@ -94,6 +92,32 @@ public class ViewAllOrdersView extends SuperView {
         setLocationRelativeTo(null);
     }
 
+    /**
+     * Reloads the order table and the order statistics, since orders may have
+     * been placed or removed while the view was hidden.
+     */
+    @Override
+    public void refresh() {
+        orderTable.loadData();
+        loadStats();
+    }
+
+    /**
+     * Shows placeholders in the statistics labels and loads the order
+     * statistics in the background.
+     */
+    private void loadStats() {
+        totalOrdersLabel.setText("Total Orders: …");
+        revenueLabel.setText("Total Revenue: …");
+        averageLabel.setText("Average Order: …");
+        AsyncLoader.load(this, () -> controller.getOrderService().getOrderStats(), stats -> {
+            totalOrdersLabel.setText("Total Orders: " + stats.getOrderCount());
+            revenueLabel.setText(String.format("Total Revenue: $%.2f", stats.getTotalRevenue()));
+            averageLabel.setText(String.format("Average Order: $%.2f (min $%.2f, max $%.2f)",
+                    stats.getAverageTotal(), stats.getMinTotal(), stats.getMaxTotal()));
+        });
+    }
+
     /**
      * Creates and returns the "View Details" button, attaching an action listener
      * that (currently) displays an error message prompting the user to select